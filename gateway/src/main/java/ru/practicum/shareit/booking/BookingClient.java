@@ -7,25 +7,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookItemsRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.EtagResponseCache;
+import ru.practicum.shareit.client.SingleFlightRequests;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, SingleFlightRequests singleFlightRequests,
+                         EtagResponseCache etagResponseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                singleFlightRequests,
+                etagResponseCache
         );
     }
 
@@ -43,6 +51,10 @@ public class BookingClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> bookItems(long userId, BookItemsRequestDto requestDto) {
+        return post("/batch", userId, requestDto);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -54,15 +66,21 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getAllBookingsByOwner(long userId, String state) {
+    public ResponseEntity<Object> getAllBookingsByOwner(long userId, String state, Integer from, Integer size) {
         if (Objects.nonNull(state)) {
             Map<String, Object> parameters = Map.of(
-                    "state", state
+                    "state", state,
+                    "from", from,
+                    "size", size
             );
-            return get("?state={state}", userId, parameters);
+            return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
 
         } else {
-            return get("", userId);
+            Map<String, Object> parameters = Map.of(
+                    "from", from,
+                    "size", size
+            );
+            return get("/owner?from={from}&size={size}", userId, parameters);
         }
     }
 }
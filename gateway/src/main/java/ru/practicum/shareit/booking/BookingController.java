@@ -11,6 +11,7 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookItemsRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStateFilter;
 
@@ -39,13 +40,18 @@ public class BookingController {
 	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
-		if (requestDto.getStart().isAfter(requestDto.getEnd()) || requestDto.getStart().equals(requestDto.getEnd())) {
-			throw new IllegalArgumentException(String.format("The booking period is not correct. Start %s, end %s",
-					requestDto.getStart(), requestDto.getEnd()));
-		}
+		validatePeriod(requestDto);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
+	@PostMapping("/batch")
+	public ResponseEntity<Object> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestBody @Valid BookItemsRequestDto requestDto) {
+		log.info("Creating {} bookings, userId={}", requestDto.getBookings().size(), userId);
+		requestDto.getBookings().forEach(this::validatePeriod);
+		return bookingClient.bookItems(userId, requestDto);
+	}
+
 	@GetMapping("/{bookingId}")
 	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 			@PathVariable Long bookingId) {
@@ -66,11 +72,20 @@ public class BookingController {
 
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-													 @RequestParam(name = "state", required = false, defaultValue = "ALL") String stateParam) {
-		log.info("Getting booking by owner with state={} userId={}", stateParam, userId);
+													 @RequestParam(name = "state", required = false, defaultValue = "ALL") String stateParam,
+													 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+													 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		log.info("Getting booking by owner with state={} userId={}, from={}, size={}", stateParam, userId, from, size);
 		if (Objects.nonNull(stateParam)) {
 			BookingStateFilter.from(stateParam).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 		}
-		return bookingClient.getAllBookingsByOwner(userId, stateParam);
+		return bookingClient.getAllBookingsByOwner(userId, stateParam, from, size);
+	}
+
+	private void validatePeriod(BookItemRequestDto requestDto) {
+		if (requestDto.getStart().isAfter(requestDto.getEnd()) || requestDto.getStart().equals(requestDto.getEnd())) {
+			throw new IllegalArgumentException(String.format("The booking period is not correct. Start %s, end %s",
+					requestDto.getStart(), requestDto.getEnd()));
+		}
 	}
 }
\ No newline at end of file
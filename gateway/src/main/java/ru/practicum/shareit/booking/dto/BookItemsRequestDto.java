@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookItemsRequestDto {
+	@NotEmpty(message = "Bookings should be not empty")
+	@Size(max = 100, message = "No more than 100 bookings can be created at once")
+	private List<@Valid BookItemRequestDto> bookings;
+}
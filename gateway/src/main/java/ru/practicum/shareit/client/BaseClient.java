@@ -2,10 +2,12 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -13,10 +15,20 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    private static final List<String> PASSED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.LOCATION);
+
     protected final RestTemplate rest;
+    private final String apiPrefix;
+    private final SingleFlightRequests singleFlightRequests;
+    private final EtagResponseCache etagResponseCache;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, String apiPrefix, SingleFlightRequests singleFlightRequests,
+                      EtagResponseCache etagResponseCache) {
         this.rest = rest;
+        this.apiPrefix = apiPrefix;
+        this.singleFlightRequests = singleFlightRequests;
+        this.etagResponseCache = etagResponseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +40,15 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        String serverPath = apiPrefix + path;
+        RequestKey key = new RequestKey(HttpMethod.GET, serverPath, userId, parameters);
+        Supplier<ResponseEntity<Object>> call = etagResponseCache.isEnabled(HttpMethod.GET, serverPath)
+                ? () -> etagResponseCache.revalidate(key, etag -> sendConditionalGet(path, userId, parameters, etag))
+                : () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        if (!singleFlightRequests.isEnabled(HttpMethod.GET, serverPath)) {
+            return call.get();
+        }
+        return singleFlightRequests.execute(key, call);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -79,20 +99,33 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    private ResponseEntity<Object> sendConditionalGet(String path, Long userId,
+                                                      @Nullable Map<String, Object> parameters, @Nullable String etag) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return sendRequest(HttpMethod.GET, path, new HttpEntity<>(headers), parameters);
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return sendRequest(method, path, new HttpEntity<>(body, defaultHeaders(userId)), parameters);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                                   @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +138,25 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Passes the server's response bytes through untouched, together with the headers that describe them.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status, @Nullable HttpHeaders serverHeaders,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        if (serverHeaders != null) {
+            for (String headerName : PASSED_HEADERS) {
+                List<String> values = serverHeaders.get(headerName);
+                if (values != null) {
+                    responseBuilder.header(headerName, values.toArray(String[]::new));
+                }
+            }
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.etag-cache")
+public class EtagCacheProperties {
+    /**
+     * Ant-style patterns of server paths, e.g. /items/*, whose GET responses are cached and revalidated.
+     */
+    private List<String> paths = new ArrayList<>();
+    /**
+     * Upper bound on the cached response bodies, counted in bytes with a fixed allowance per entry.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Cache of server GET responses that carry an ETag, bounded by the bytes it holds. A cached response is never
+ * served as is: the request is repeated with If-None-Match, and only a 304 from the server lets the cached bytes
+ * be returned.
+ */
+@Component
+public class EtagResponseCache {
+    /**
+     * Rough size of a cache entry besides the body: the key, the headers and the entry itself.
+     */
+    static final int ENTRY_OVERHEAD = 256;
+
+    private final PathPatterns pathPatterns;
+    private final Cache<RequestKey, ResponseEntity<Object>> responses;
+
+    public EtagResponseCache(EtagCacheProperties properties, MeterRegistry meterRegistry) {
+        this.pathPatterns = new PathPatterns(properties.getPaths());
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight().toBytes())
+                .weigher(EtagResponseCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway-responses");
+    }
+
+    public boolean isEnabled(HttpMethod method, String path) {
+        return method == HttpMethod.GET && pathPatterns.matches(path);
+    }
+
+    /**
+     * Sends the request through {@code call} with the ETag of the cached response, if any, and returns the
+     * cached response when the server answers 304 Not Modified.
+     */
+    public ResponseEntity<Object> revalidate(RequestKey key, Function<String, ResponseEntity<Object>> call) {
+        ResponseEntity<Object> cached = responses.getIfPresent(key);
+        String etag = cached == null ? null : cached.getHeaders().getETag();
+        ResponseEntity<Object> response = call.apply(etag);
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return cached;
+        }
+        if (response.getStatusCode().is2xxSuccessful() && response.getHeaders().getETag() != null) {
+            responses.put(key, response);
+        } else {
+            responses.invalidate(key);
+        }
+        return response;
+    }
+
+    private static int weigh(RequestKey key, ResponseEntity<Object> response) {
+        return ENTRY_OVERHEAD + (response.getBody() instanceof byte[] body ? body.length : 0);
+    }
+}
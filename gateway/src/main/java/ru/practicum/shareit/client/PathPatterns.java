@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.List;
+
+final class PathPatterns {
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<String> patterns;
+
+    PathPatterns(List<String> patterns) {
+        this.patterns = List.copyOf(patterns);
+    }
+
+    /**
+     * Matches the path part of a server path template, ignoring its query.
+     */
+    boolean matches(String path) {
+        int queryStart = path.indexOf('?');
+        String pathWithoutQuery = queryStart < 0 ? path : path.substring(0, queryStart);
+        return patterns.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, pathWithoutQuery));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Identity of a server request: the method, the server path template with its parameters, and the user it is
+ * made for.
+ */
+public record RequestKey(HttpMethod method, String path, @Nullable Long userId,
+                         @Nullable Map<String, Object> parameters) {
+}
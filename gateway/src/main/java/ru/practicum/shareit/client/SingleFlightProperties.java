@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.single-flight")
+public class SingleFlightProperties {
+    /**
+     * Ant-style patterns of server paths, e.g. /items/*, whose identical concurrent GETs share one call.
+     */
+    private List<String> paths = new ArrayList<>();
+}
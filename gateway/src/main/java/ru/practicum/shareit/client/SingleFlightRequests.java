@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent GETs to the server. The first caller for a key makes the call, and callers
+ * arriving while it is in flight wait for it and receive the same response. Nothing is kept once the call
+ * completes, so this never serves a response that was already finished when a request arrived.
+ */
+@Component
+public class SingleFlightRequests {
+    private final PathPatterns pathPatterns;
+    private final ConcurrentMap<RequestKey, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public SingleFlightRequests(SingleFlightProperties properties) {
+        this.pathPatterns = new PathPatterns(properties.getPaths());
+    }
+
+    public boolean isEnabled(HttpMethod method, String path) {
+        return method == HttpMethod.GET && pathPatterns.matches(path);
+    }
+
+    public ResponseEntity<Object> execute(RequestKey key, Supplier<ResponseEntity<Object>> call) {
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leaderFlight = inFlight.putIfAbsent(key, flight);
+        if (leaderFlight != null) {
+            return await(leaderFlight);
+        }
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> leaderFlight) {
+        try {
+            return leaderFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Answers a caller's If-None-Match on the polled resources with 304 Not Modified and no body when it matches
+ * the ETag passed on from the server, so an unchanged response is not sent to the caller again. Responses the
+ * server sent without an ETag get one hashed from the body.
+ */
+@Configuration
+public class EtagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/bookings/*", "/items/*", "/requests/*");
+        return registration;
+    }
+}
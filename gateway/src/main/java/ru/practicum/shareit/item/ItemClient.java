@@ -4,14 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.EtagResponseCache;
+import ru.practicum.shareit.client.SingleFlightRequests;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Component
@@ -19,12 +23,17 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, SingleFlightRequests singleFlightRequests,
+                      EtagResponseCache etagResponseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                singleFlightRequests,
+                etagResponseCache
         );
     }
 
@@ -40,11 +49,60 @@ public class ItemClient extends BaseClient {
         return get("/");
     }
 
-    public ResponseEntity<Object> getItemsByPattern(long userId, String pattern) {
+    public ResponseEntity<Object> getItemsByPattern(long userId, String pattern, LocalDateTime start, LocalDateTime end,
+                                                    boolean fuzzy, Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", pattern);
+        parameters.put("fuzzy", fuzzy);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (start == null) {
+            return get("/search?text={text}&fuzzy={fuzzy}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("start", start);
+        parameters.put("end", end);
+        return get("/search?text={text}&start={start}&end={end}&fuzzy={fuzzy}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getSuggestions(long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to,
+                                                  boolean includeWaiting) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("to", to);
+        parameters.put("includeWaiting", includeWaiting);
+        if (from == null) {
+            return get("/" + itemId + "/availability?to={to}&includeWaiting={includeWaiting}", userId, parameters);
+        }
+        parameters.put("from", from);
+        return get("/" + itemId + "/availability?from={from}&to={to}&includeWaiting={includeWaiting}", userId,
+                parameters);
+    }
+
+    public ResponseEntity<Object> getComments(long userId, long itemId, String text, Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (text == null || text.isBlank()) {
+            return get("/" + itemId + "/comments?from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("text", text);
+        return get("/" + itemId + "/comments?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> searchComments(long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
-                "text", pattern
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("?text={pattern}", userId, parameters);
+        return get("/comments?text={text}&from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> updateItem(long userId, long itemId, UpdateItemRequest requestDto) {
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -13,6 +16,8 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Controller
 @Validated
@@ -36,9 +41,66 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> getItemsByName(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @NotBlank @RequestParam String text) {
-        log.info("Searching item by pattern, pattern={}", text);
-        return itemClient.getItemsByPattern(userId, text);
+                                                 @NotBlank @RequestParam String text,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                 @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if ((start == null) != (end == null) || start != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException(String.format("The period is not correct. Start %s, end %s", start, end));
+        }
+        log.info("Searching item by pattern, pattern={}, start={}, end={}, fuzzy={}, from={}, size={}", text, start, end,
+                fuzzy, from, size);
+        return itemClient.getItemsByPattern(userId, text, start, end, fuzzy, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> getSuggestions(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @NotBlank @RequestParam String prefix,
+                                                 @Positive @Max(50)
+                                                 @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Getting item suggestions, prefix={}, size={}", prefix, size);
+        return itemClient.getSuggestions(userId, prefix, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @Positive @PathVariable long itemId,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                  @RequestParam(defaultValue = "false") boolean includeWaiting) {
+        if (from != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException(String.format("The period is not correct. From %s, to %s", from, to));
+        }
+        log.info("Getting availability of item, itemId={}, from={}, to={}, includeWaiting={}", itemId, from, to,
+                includeWaiting);
+        return itemClient.getAvailability(userId, itemId, from, to, includeWaiting);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader("X-Sharer-User-Id") long userId,
+                                              @Positive @PathVariable long itemId,
+                                              @RequestParam(required = false) String text,
+                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                              @Positive @Max(100)
+                                              @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Getting comments of item, itemId={}, text={}, from={}, size={}", itemId, text, from, size);
+        return itemClient.getComments(userId, itemId, text, from, size);
+    }
+
+    @GetMapping("/comments")
+    public ResponseEntity<Object> searchComments(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @NotBlank @RequestParam String text,
+                                                 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                 @Positive @Max(100)
+                                                 @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Searching comments by pattern, pattern={}, from={}, size={}", text, from, size);
+        return itemClient.searchComments(userId, text, from, size);
     }
 
     @PostMapping
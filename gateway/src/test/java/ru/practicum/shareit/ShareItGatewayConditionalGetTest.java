@@ -0,0 +1,89 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the gateway against its own stub server, which answers booking requests with a fixed ETag and with
+ * 304 Not Modified when the gateway sends that ETag back.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ShareItGatewayConditionalGetTest {
+    private static final String BOOKING_ETAG = "\"7\"";
+    private static final ExecutorService STUB_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final HttpServer STUB_SERVER = startStubServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + STUB_SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        STUB_SERVER.stop(0);
+        STUB_EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    void getBooking_shouldAnswerNotModifiedForCallerEtag() throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings/1"))
+                    .header("X-Sharer-User-Id", "1");
+
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals(BOOKING_ETAG, response.headers().firstValue("ETag").orElse(null));
+
+            HttpResponse<String> notModified = client.send(request.header("If-None-Match", BOOKING_ETAG).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(304, notModified.statusCode());
+            assertEquals("", notModified.body());
+        }
+    }
+
+    private static HttpServer startStubServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(STUB_EXECUTOR);
+            server.createContext("/bookings/", exchange -> {
+                exchange.getResponseHeaders().set("ETag", BOOKING_ETAG);
+                if (BOOKING_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+                byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Stub server did not start", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Holds every request at a stub server until all of them have arrived, so the test passes only if the gateway
+ * keeps more requests in flight than Tomcat's platform thread pool and the CPU count would allow. The
+ * connection pool runs with its shipped limits.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ShareItGatewayLoadTest {
+    private static final int TOMCAT_PLATFORM_THREADS = 200;
+    private static final int REQUESTS =
+            Math.max(TOMCAT_PLATFORM_THREADS, Runtime.getRuntime().availableProcessors()) + 50;
+    private static final CountDownLatch ARRIVED = new CountDownLatch(REQUESTS);
+    private static final AtomicInteger TIMED_OUT = new AtomicInteger();
+    private static final ExecutorService STUB_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final HttpServer STUB_SERVER = startStubServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + STUB_SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        STUB_SERVER.stop(0);
+        STUB_EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    void getItem_shouldKeepMoreRequestsInFlightThanPlatformThreads() throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            List<CompletableFuture<HttpResponse<String>>> responses = IntStream.rangeClosed(1, REQUESTS)
+                    .mapToObj(itemId -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/" + itemId))
+                            .header("X-Sharer-User-Id", "1")
+                            .build())
+                    .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                    .toList();
+
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get(30, TimeUnit.SECONDS).statusCode());
+            }
+        }
+        assertEquals(0, TIMED_OUT.get());
+    }
+
+    private static HttpServer startStubServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+            server.setExecutor(STUB_EXECUTOR);
+            server.createContext("/items/", exchange -> {
+                ARRIVED.countDown();
+                try {
+                    if (!ARRIVED.await(10, TimeUnit.SECONDS)) {
+                        TIMED_OUT.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Stub server did not start", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EtagResponseCacheTest {
+    private static final int BODY_SIZE = 1000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EtagResponseCache etagResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        EtagCacheProperties properties = new EtagCacheProperties();
+        properties.setPaths(List.of("/items/*"));
+        properties.setMaximumWeight(DataSize.ofBytes(3 * (EtagResponseCache.ENTRY_OVERHEAD + BODY_SIZE)));
+        meterRegistry = new SimpleMeterRegistry();
+        etagResponseCache = new EtagResponseCache(properties, meterRegistry);
+    }
+
+    @Test
+    void revalidate_shouldReturnCachedResponseWhenServerAnswersNotModified() {
+        RequestKey key = key("/items/1");
+        ResponseEntity<Object> response = ok("\"1\"", 10);
+        List<String> sentEtags = new ArrayList<>();
+
+        assertSame(response, etagResponseCache.revalidate(key, etag -> {
+            sentEtags.add(etag);
+            return response;
+        }));
+        assertSame(response, etagResponseCache.revalidate(key, etag -> {
+            sentEtags.add(etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }));
+
+        assertEquals(Arrays.asList(null, "\"1\""), sentEtags);
+    }
+
+    @Test
+    void revalidate_shouldReplaceCachedResponseWhenServerSendsNewOne() {
+        RequestKey key = key("/items/1");
+        etagResponseCache.revalidate(key, etag -> ok("\"1\"", 10));
+        ResponseEntity<Object> changed = ok("\"2\"", 10);
+
+        assertSame(changed, etagResponseCache.revalidate(key, etag -> changed));
+        assertSame(changed, etagResponseCache.revalidate(key, etag -> {
+            assertEquals("\"2\"", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }));
+    }
+
+    @Test
+    void revalidate_shouldForgetResponseWithoutEtagOrOnFailure() {
+        RequestKey key = key("/items/1");
+        etagResponseCache.revalidate(key, etag -> ok("\"1\"", 10));
+        etagResponseCache.revalidate(key, etag -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        etagResponseCache.revalidate(key("/items/2"), etag -> ResponseEntity.ok(new byte[10]));
+
+        etagResponseCache.revalidate(key, etag -> {
+            assertNull(etag);
+            return ResponseEntity.ok(new byte[10]);
+        });
+        etagResponseCache.revalidate(key("/items/2"), etag -> {
+            assertNull(etag);
+            return ResponseEntity.ok(new byte[10]);
+        });
+    }
+
+    @Test
+    void revalidate_shouldBoundCacheByBodyBytes() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            etagResponseCache.revalidate(key("/items/" + i), etag -> ok("\"1\"", BODY_SIZE));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("cache.evictions").functionCounter().count() < 2) {
+            assertTrue(System.nanoTime() < deadline, "Responses over the weight bound were not evicted");
+            Thread.sleep(10);
+        }
+        assertEquals(3, meterRegistry.get("cache.size").gauge().value());
+    }
+
+    @Test
+    void isEnabled_shouldCacheOnlyGetsOfConfiguredPaths() {
+        assertTrue(etagResponseCache.isEnabled(HttpMethod.GET, "/items/1"));
+        assertFalse(etagResponseCache.isEnabled(HttpMethod.GET, "/users/1"));
+        assertFalse(etagResponseCache.isEnabled(HttpMethod.PATCH, "/items/1"));
+    }
+
+    private static RequestKey key(String path) {
+        return new RequestKey(HttpMethod.GET, path, 1L, null);
+    }
+
+    private static ResponseEntity<Object> ok(String etag, int bodySize) {
+        return ResponseEntity.ok().eTag(etag).body(new byte[bodySize]);
+    }
+}
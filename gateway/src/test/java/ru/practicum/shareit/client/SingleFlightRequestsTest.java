@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightRequestsTest {
+    private static final int FOLLOWERS = 8;
+
+    private SingleFlightRequests singleFlightRequests;
+    private CountDownLatch leaderStarted;
+    private CountDownLatch leaderReleased;
+
+    @BeforeEach
+    void setUp() {
+        SingleFlightProperties properties = new SingleFlightProperties();
+        properties.setPaths(List.of("/items/*"));
+        singleFlightRequests = new SingleFlightRequests(properties);
+        leaderStarted = new CountDownLatch(1);
+        leaderReleased = new CountDownLatch(1);
+    }
+
+    @Test
+    void execute_shouldMakeOneCallForConcurrentIdenticalRequests() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        RequestKey key = key(1L);
+
+        CompletableFuture<ResponseEntity<Object>> leader = startLeader(key, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        List<CompletableFuture<ResponseEntity<Object>>> followers = startFollowers(key, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok("another item");
+        });
+        leaderReleased.countDown();
+
+        assertSame(response, leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<ResponseEntity<Object>> follower : followers) {
+            assertSame(response, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldNotCoalesceRequestsOfDifferentUsers() throws Exception {
+        CompletableFuture<ResponseEntity<Object>> leader = startLeader(key(1L), () -> ResponseEntity.ok("first"));
+
+        ResponseEntity<Object> otherUserResponse = singleFlightRequests.execute(key(2L),
+                () -> ResponseEntity.ok("second"));
+        leaderReleased.countDown();
+
+        assertEquals("second", otherUserResponse.getBody());
+        assertEquals("first", leader.get(5, TimeUnit.SECONDS).getBody());
+    }
+
+    @Test
+    void execute_shouldPassLeaderFailureToFollowersAndForgetKey() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Server is down");
+        RequestKey key = key(1L);
+
+        CompletableFuture<ResponseEntity<Object>> leader = startLeader(key, () -> {
+            throw failure;
+        });
+        List<CompletableFuture<ResponseEntity<Object>>> followers = startFollowers(key,
+                () -> ResponseEntity.ok("item"));
+        leaderReleased.countDown();
+
+        ExecutionException leaderException = assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderException.getCause());
+        for (CompletableFuture<ResponseEntity<Object>> follower : followers) {
+            ExecutionException followerException = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertSame(failure, followerException.getCause());
+        }
+        assertEquals("retried", singleFlightRequests.execute(key, () -> ResponseEntity.ok("retried")).getBody());
+    }
+
+    @Test
+    void isEnabled_shouldCoalesceOnlyGetsOfConfiguredPaths() {
+        assertTrue(singleFlightRequests.isEnabled(HttpMethod.GET, "/items/1"));
+        assertTrue(singleFlightRequests.isEnabled(HttpMethod.GET, "/items/1?from={from}"));
+        assertFalse(singleFlightRequests.isEnabled(HttpMethod.GET, "/users/1"));
+        for (HttpMethod method : List.of(HttpMethod.POST, HttpMethod.PATCH, HttpMethod.PUT, HttpMethod.DELETE)) {
+            assertFalse(singleFlightRequests.isEnabled(method, "/items/1"));
+        }
+    }
+
+    private static RequestKey key(long userId) {
+        return new RequestKey(HttpMethod.GET, "/items/1", userId, null);
+    }
+
+    /**
+     * Starts a request whose call blocks until the test releases it, and waits for the call to begin.
+     */
+    private CompletableFuture<ResponseEntity<Object>> startLeader(RequestKey key,
+                                                                  Supplier<ResponseEntity<Object>> call)
+            throws InterruptedException {
+        CompletableFuture<ResponseEntity<Object>> leader = new CompletableFuture<>();
+        Thread.ofPlatform().start(() -> complete(leader, key, () -> {
+            leaderStarted.countDown();
+            awaitRelease();
+            return call.get();
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    /**
+     * Starts identical requests and waits until each of them is parked on the leader's call.
+     */
+    private List<CompletableFuture<ResponseEntity<Object>>> startFollowers(RequestKey key,
+                                                                           Supplier<ResponseEntity<Object>> call)
+            throws InterruptedException {
+        List<CompletableFuture<ResponseEntity<Object>>> followers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            CompletableFuture<ResponseEntity<Object>> follower = new CompletableFuture<>();
+            followers.add(follower);
+            threads.add(Thread.ofPlatform().start(() -> complete(follower, key, call)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING)) {
+            assertTrue(System.nanoTime() < deadline, "Followers did not start waiting");
+            Thread.sleep(10);
+        }
+        return followers;
+    }
+
+    private void complete(CompletableFuture<ResponseEntity<Object>> result, RequestKey key,
+                          Supplier<ResponseEntity<Object>> call) {
+        try {
+            result.complete(singleFlightRequests.execute(key, call));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            leaderReleased.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
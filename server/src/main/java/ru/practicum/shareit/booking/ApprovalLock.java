@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Lock taken before a booking is approved. PostgreSQL rejects overlapping approvals through the
+ * bookings_approved_no_overlap constraint and needs none; databases without that constraint serialize
+ * approvals of one item instead.
+ */
+public interface ApprovalLock {
+    void lockItemOfBooking(long bookingId);
+}
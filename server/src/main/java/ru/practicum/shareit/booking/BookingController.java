@@ -3,10 +3,14 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.dto.NewBookingsRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -21,6 +25,12 @@ public class BookingController {
         return bookingService.addBooking(userId, newBookingRequest);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestBody NewBookingsRequest newBookingsRequest) {
+        return bookingService.addBookings(userId, newBookingsRequest.getBookings());
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable(name = "bookingId") Long bookingId,
@@ -30,19 +40,28 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                 @PathVariable(name = "bookingId") Long bookingId) {
+                                 @PathVariable(name = "bookingId") Long bookingId,
+                                 WebRequest webRequest) {
+        Optional<Long> version = bookingService.getBookingVersion(userId, bookingId);
+        if (version.isPresent() && webRequest.checkNotModified(String.valueOf(version.get()))) {
+            return null;
+        }
         return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
     public List<BookingDto> getBookingsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", required = false, defaultValue = "ALL") BookingStateFilter state) {
-        return bookingService.getAllBookingsByUser(userId, state);
+                                              @RequestParam(name = "state", required = false, defaultValue = "ALL") BookingStateFilter state,
+                                              @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        return bookingService.getAllBookingsByUser(userId, state, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", required = false, defaultValue = "ALL") BookingStateFilter state) {
-        return bookingService.getAllBookingByOwner(userId, state);
+                                              @RequestParam(name = "state", required = false, defaultValue = "ALL") BookingStateFilter state,
+                                              @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        return bookingService.getAllBookingByOwner(userId, state, from, size);
     }
 }
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Per-item index of approved booking periods. Overlapping periods are merged into disjoint busy blocks
+ * sorted by start time, so an overlap check is a single floor lookup. Items are loaded from the repository
+ * on first access and kept in a bounded cache. Approvals made by other server instances are not seen here,
+ * so an item is reloaded once its entry is older than {@code shareit.booking-index.expire-after-write}; the
+ * database constraint on approved bookings stays the authority.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, NavigableMap<LocalDateTime, LocalDateTime>> busyPeriodsByItem;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-index.maximum-size:10000}") long maximumSize,
+                                @Value("${shareit.booking-index.expire-after-write:30s}") Duration expireAfterWrite,
+                                MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        busyPeriodsByItem = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, busyPeriodsByItem, "booking-periods");
+    }
+
+    public boolean isOverlapping(Item item, LocalDateTime startTime, LocalDateTime endTime) {
+        NavigableMap<LocalDateTime, LocalDateTime> busyPeriods = getBusyPeriods(item);
+        synchronized (busyPeriods) {
+            Map.Entry<LocalDateTime, LocalDateTime> period = busyPeriods.lowerEntry(endTime);
+            return period != null && period.getValue().isAfter(startTime);
+        }
+    }
+
+    /**
+     * Returns a copy of the busy blocks that intersect the given window, sorted by start time.
+     */
+    public List<Map.Entry<LocalDateTime, LocalDateTime>> findBusyPeriods(Item item, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, LocalDateTime> busyPeriods = getBusyPeriods(item);
+        synchronized (busyPeriods) {
+            Map.Entry<LocalDateTime, LocalDateTime> first = busyPeriods.lowerEntry(from);
+            LocalDateTime fromKey = first != null && first.getValue().isAfter(from) ? first.getKey() : from;
+            return busyPeriods.subMap(fromKey, true, to, false).entrySet().stream()
+                    .map(Map.Entry::copyOf)
+                    .toList();
+        }
+    }
+
+    public void add(Item item, LocalDateTime startTime, LocalDateTime endTime) {
+        NavigableMap<LocalDateTime, LocalDateTime> busyPeriods = getBusyPeriods(item);
+        synchronized (busyPeriods) {
+            evictExpired(busyPeriods, LocalDateTime.now());
+            merge(busyPeriods, startTime, endTime);
+        }
+        evictOnRollback(item.getId());
+    }
+
+    public void evict(long itemId) {
+        busyPeriodsByItem.invalidate(itemId);
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> getBusyPeriods(Item item) {
+        return busyPeriodsByItem.get(item.getId(), itemId -> load(item));
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> load(Item item) {
+        List<Booking> bookings = bookingRepository.findAllCurrentAndFutureBookingForItems(List.of(item), LocalDateTime.now());
+        NavigableMap<LocalDateTime, LocalDateTime> busyPeriods = new TreeMap<>();
+        for (Booking booking : bookings) {
+            merge(busyPeriods, booking.getStartTime(), booking.getEndTime());
+        }
+        log.debug("Booking index loaded for item {}, bookings={}, busy periods={}", item.getId(), bookings.size(),
+                busyPeriods.size());
+        return busyPeriods;
+    }
+
+    private void evictOnRollback(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    evict(itemId);
+                }
+            }
+        });
+    }
+
+    private static void merge(NavigableMap<LocalDateTime, LocalDateTime> busyPeriods,
+                              LocalDateTime startTime, LocalDateTime endTime) {
+        Map.Entry<LocalDateTime, LocalDateTime> previous = busyPeriods.floorEntry(startTime);
+        if (previous != null && !previous.getValue().isBefore(startTime)) {
+            startTime = previous.getKey();
+            endTime = max(endTime, previous.getValue());
+        }
+        Iterator<Map.Entry<LocalDateTime, LocalDateTime>> following =
+                busyPeriods.subMap(startTime, true, endTime, true).entrySet().iterator();
+        while (following.hasNext()) {
+            endTime = max(endTime, following.next().getValue());
+            following.remove();
+        }
+        busyPeriods.put(startTime, endTime);
+    }
+
+    private static void evictExpired(NavigableMap<LocalDateTime, LocalDateTime> busyPeriods, LocalDateTime timeNow) {
+        Iterator<LocalDateTime> ends = busyPeriods.values().iterator();
+        while (ends.hasNext() && ends.next().isBefore(timeNow)) {
+            ends.remove();
+        }
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
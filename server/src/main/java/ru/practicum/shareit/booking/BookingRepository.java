@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
@@ -11,53 +14,70 @@ import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     //all bookings
-    List<Booking> findAllByUserIdOrderByStartTimeDesc(Long userId);
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    List<Booking> findAllByUserIdOrderByStartTimeDescIdDesc(Long userId, Pageable page);
 
     //past bookings
-    List<Booking> findAllByUserIdAndEndTimeBeforeOrderByStartTimeDesc(Long userId, LocalDateTime timeNow);
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    List<Booking> findAllByUserIdAndEndTimeBeforeOrderByStartTimeDescIdDesc(Long userId, LocalDateTime timeNow, Pageable page);
 
-    List<Booking> findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(Long userId, Long itemId, LocalDateTime timeNow);
+    boolean existsByUserIdAndItemIdAndStateAndEndTimeBefore(Long userId, Long itemId, BookingState state,
+                                                            LocalDateTime timeNow);
 
     //future bookings
-    List<Booking> findAllByUserIdAndStartTimeAfterOrderByStartTimeDesc(Long userId, LocalDateTime timeNow);
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    List<Booking> findAllByUserIdAndStartTimeAfterOrderByStartTimeDescIdDesc(Long userId, LocalDateTime timeNow, Pageable page);
 
     //current bookings
-    List<Booking> findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDesc(Long userId, LocalDateTime timeNow, LocalDateTime timeNow2);
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    List<Booking> findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDescIdDesc(Long userId, LocalDateTime timeNow,
+                                                                                            LocalDateTime timeNow2,
+                                                                                            Pageable page);
 
     //bookings by state
-    List<Booking> findAllByUserIdAndStateOrderByStartTimeDesc(Long userId, BookingState state);
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    List<Booking> findAllByUserIdAndStateOrderByStartTimeDescIdDesc(Long userId, BookingState state, Pageable page);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
     @Query("select booking " +
             "from Booking as booking " +
-            "where booking.item.owner.id = ?1 " +
+            "where booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?1) " +
             "and booking.endTime < ?2 " +
-            "order by booking.startTime desc")
-    List<Booking> findPastBookingsByOwner(Long ownerId, LocalDateTime timeNow);
+            "order by booking.startTime desc, booking.id desc")
+    List<Booking> findPastBookingsByOwner(Long ownerId, LocalDateTime timeNow, Pageable page);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
     @Query("select booking " +
             "from Booking as booking " +
-            "where booking.item.owner.id = ?1 " +
+            "where booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?1) " +
             "and booking.startTime > ?2 " +
-            "order by booking.startTime desc")
-    List<Booking> findFutureBookingsByOwner(Long ownerId, LocalDateTime timeNow);
+            "order by booking.startTime desc, booking.id desc")
+    List<Booking> findFutureBookingsByOwner(Long ownerId, LocalDateTime timeNow, Pageable page);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
     @Query("select booking " +
             "from Booking as booking " +
-            "where booking.item.owner.id = ?1 " +
+            "where booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?1) " +
             "and booking.startTime < ?2 " +
             "and booking.endTime > ?2 " +
-            "order by booking.startTime desc")
-    List<Booking> findCurrentBookingsByOwner(Long ownerId, LocalDateTime timeNow);
+            "order by booking.startTime desc, booking.id desc")
+    List<Booking> findCurrentBookingsByOwner(Long ownerId, LocalDateTime timeNow, Pageable page);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
     @Query("select booking " +
             "from Booking as booking " +
-            "where booking.item.owner.id = ?1 " +
+            "where booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?1) " +
             "and booking.state = ?2 " +
-            "order by booking.startTime desc")
-    List<Booking> findAllByOwnerWithState(Long ownerId, BookingState state);
+            "order by booking.startTime desc, booking.id desc")
+    List<Booking> findAllByOwnerWithState(Long ownerId, BookingState state, Pageable page);
 
     //all booking
-    List<Booking> findAllByItemOwnerIdOrderByStartTimeDesc(Long ownerId);
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    @Query("select booking " +
+            "from Booking as booking " +
+            "where booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?1) " +
+            "order by booking.startTime desc, booking.id desc")
+    List<Booking> findAllByItemOwnerIdOrderByStartTimeDescIdDesc(Long ownerId, Pageable page);
 
     @Query("select booking " +
             "from Booking as booking " +
@@ -69,17 +89,60 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "order by booking.startTime")
     List<Booking> findAllCurrentAndFutureBookingForItems(List<Item> items, LocalDateTime timeNow);
 
+    @Query("select booking " +
+            "from Booking as booking " +
+            "where booking.item.id = ?1 " +
+            "and booking.state = 'WAITING' " +
+            "and booking.startTime < ?3 " +
+            "and booking.endTime > ?2 " +
+            "order by booking.startTime")
+    List<Booking> findAllWaitingBookingsForItemInPeriod(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "user"})
+    Optional<Booking> findWithDetailsById(Long bookingId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as booking " +
+            "set booking.state = 'APPROVED' " +
+            "where booking.id = ?1 " +
+            "and booking.state = 'WAITING' " +
+            "and booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?2) " +
+            "and not exists (select other.id " +
+            "from Booking as other " +
+            "where other.item.id = booking.item.id " +
+            "and other.state = 'APPROVED' " +
+            "and other.startTime < booking.endTime " +
+            "and other.endTime > booking.startTime)")
+    int approveWaitingBooking(Long bookingId, Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as booking " +
+            "set booking.state = 'REJECTED' " +
+            "where booking.id = ?1 " +
+            "and booking.state = 'WAITING' " +
+            "and booking.item.id in (select itm.id from Item as itm where itm.owner.id = ?2)")
+    int rejectWaitingBooking(Long bookingId, Long ownerId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update bookings set version = version + 1 where id = ?1", nativeQuery = true)
+    void incrementVersion(long bookingId);
+
+    /**
+     * Version of the booking view, the sum of the booking and item row versions, if the user is the booker or
+     * the owner of the item. Both versions only grow, so any change to the view raises the sum.
+     */
+    @Query(value = "select booking.version + itm.version " +
+            "from bookings as booking " +
+            "join items as itm on itm.id = booking.item_id " +
+            "where booking.id = ?1 " +
+            "and (booking.user_id = ?2 or itm.user_id = ?2)", nativeQuery = true)
+    Optional<Long> findViewVersion(long bookingId, long userId);
+
     //last booking
     Optional<Booking> findTop1ByItemIdAndStartTimeBeforeAndStateOrderByStartTimeDesc(Long itemId, LocalDateTime timeNow, BookingState state);
 
     //next booking
     Optional<Booking> findTop1ByItemIdAndStartTimeAfterAndStateOrderByStartTimeAsc(Long itemId, LocalDateTime timeNow, BookingState state);
 
-    @Query("select booking " +
-            "from Booking as booking " +
-            "where booking.item in ?1 " +
-            "and booking.state = 'APPROVED' " +
-            "order by booking.startTime")
-    List<Booking> findAllApprovedBookings(List<Item> items);
 
 }
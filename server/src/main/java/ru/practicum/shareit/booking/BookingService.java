@@ -1,19 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
 
     BookingDto addBooking(Long userId, NewBookingRequest newBookingRequest);
 
+    List<BookingBatchResultDto> addBookings(Long userId, List<NewBookingRequest> newBookingRequests);
+
     BookingDto getBookingById(Long userId, Long bookingId);
 
+    Optional<Long> getBookingVersion(Long userId, Long bookingId);
+
     BookingDto approveBooking(Long userId, Long bookingId, boolean approved);
 
-    List<BookingDto> getAllBookingsByUser(Long userId, BookingStateFilter state);
+    List<BookingDto> getAllBookingsByUser(Long userId, BookingStateFilter state, int from, int size);
 
-    List<BookingDto> getAllBookingByOwner(Long ownerId, BookingStateFilter state);
+    List<BookingDto> getAllBookingByOwner(Long ownerId, BookingStateFilter state, int from, int size);
 }
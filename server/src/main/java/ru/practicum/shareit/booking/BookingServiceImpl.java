@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
@@ -11,20 +14,37 @@ import ru.practicum.shareit.exceptions.UnacceptableValueException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final String BOOKING_OVERLAP_MESSAGE = "The item is already booked for this period";
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "bookings_approved_no_overlap";
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingSummaryTracker itemBookingSummaryTracker;
+    private final ApprovalLock approvalLock;
 
+    /**
+     * Creates a WAITING booking unless it overlaps an approved one. Creation takes no lock: WAITING bookings may
+     * overlap each other, and a booking approved between the check and the insert only leaves the new booking
+     * impossible to approve. Approval is the step that must be exclusive, and the conditional update with the
+     * approval lock or the bookings_approved_no_overlap constraint keeps it so.
+     */
     @Override
     @Transactional
     public BookingDto addBooking(Long userId, NewBookingRequest newBookingRequest) {
@@ -38,6 +58,40 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> addBookings(Long userId, List<NewBookingRequest> newBookingRequests) {
+        if (newBookingRequests == null || newBookingRequests.isEmpty() || newBookingRequests.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("A batch should contain from 1 to %d bookings", MAX_BATCH_SIZE));
+        }
+        User user = getUser(userId);
+        Set<Long> itemIds = newBookingRequests.stream()
+                .map(NewBookingRequest::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[newBookingRequests.size()];
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> batchPeriods = new HashMap<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < newBookingRequests.size(); i++) {
+            try {
+                bookings.add(mapToBatchBooking(newBookingRequests.get(i), items, user, batchPeriods));
+                indexes.add(i);
+            } catch (NotFoundException | ValidationException | UnacceptableValueException e) {
+                results[i] = new BookingBatchResultDto(i, null, e.getMessage());
+            }
+        }
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        for (int i = 0; i < savedBookings.size(); i++) {
+            int index = indexes.get(i);
+            results[index] = new BookingBatchResultDto(index, BookingMapper.mapToBookingDto(savedBookings.get(i)), null);
+        }
+        return Arrays.asList(results);
+    }
+
     @Override
     public BookingDto getBookingById(Long userId, Long bookingId) {
         Booking booking = getBooking(bookingId);
@@ -47,40 +101,55 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.mapToBookingDto(booking);
     }
 
+    @Override
+    public Optional<Long> getBookingVersion(Long userId, Long bookingId) {
+        return bookingRepository.findViewVersion(bookingId, userId);
+    }
+
     @Override
     @Transactional
     public BookingDto approveBooking(Long userId, Long bookingId, boolean approved) {
-        Booking booking = getBooking(bookingId);
-        validateOwner(booking.getItem().getOwner().getId(), userId);
-        if (booking.getState() != BookingState.WAITING) {
-            throw new ValidationException(String.format("The status of booking should be WAITING. Current status is %s",
-                    booking.getState()));
+        if (!approved) {
+            if (bookingRepository.rejectWaitingBooking(bookingId, userId) == 0) {
+                throw getApproveFailure(userId, bookingId);
+            }
+            bookingRepository.incrementVersion(bookingId);
+            return BookingMapper.mapToBookingDto(getBookingWithDetails(bookingId));
         }
-        booking.setState(approved ? BookingState.APPROVED : BookingState.REJECTED);
-        return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+        approvalLock.lockItemOfBooking(bookingId);
+        if (approveWaitingBooking(bookingId, userId) == 0) {
+            throw getApproveFailure(userId, bookingId);
+        }
+        bookingRepository.incrementVersion(bookingId);
+        Booking booking = getBookingWithDetails(bookingId);
+        bookingIntervalIndex.add(booking.getItem(), booking.getStartTime(), booking.getEndTime());
+        itemBookingSummaryTracker.onApproved(booking);
+        return BookingMapper.mapToBookingDto(booking);
     }
 
     @Override
-    public List<BookingDto> getAllBookingsByUser(Long userId, BookingStateFilter state) {
+    public List<BookingDto> getAllBookingsByUser(Long userId, BookingStateFilter state, int from, int size) {
         User booker = getUser(userId);
+        Pageable page = OffsetPageRequest.of(from, size);
         List<Booking> bookings;
         switch (state) {
             case BookingStateFilter.CURRENT:
-                bookings = bookingRepository.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDesc(userId,
-                        LocalDateTime.now(), LocalDateTime.now());
+                bookings = bookingRepository.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDescIdDesc(userId,
+                        LocalDateTime.now(), LocalDateTime.now(), page);
                 break;
             case BookingStateFilter.PAST:
-                bookings = bookingRepository.findAllByUserIdAndEndTimeBeforeOrderByStartTimeDesc(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllByUserIdAndEndTimeBeforeOrderByStartTimeDescIdDesc(userId, LocalDateTime.now(), page);
                 break;
             case BookingStateFilter.FUTURE:
-                bookings = bookingRepository.findAllByUserIdAndStartTimeAfterOrderByStartTimeDesc(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllByUserIdAndStartTimeAfterOrderByStartTimeDescIdDesc(userId, LocalDateTime.now(), page);
                 break;
             default:
                 if (state == BookingStateFilter.WAITING || state == BookingStateFilter.APPROVED
                         || state == BookingStateFilter.REJECTED) {
-                    bookings = bookingRepository.findAllByUserIdAndStateOrderByStartTimeDesc(userId, BookingState.valueOf(state.name()));
+                    bookings = bookingRepository.findAllByUserIdAndStateOrderByStartTimeDescIdDesc(userId, BookingState.valueOf(state.name()),
+                            page);
                 } else {
-                    bookings = bookingRepository.findAllByUserIdOrderByStartTimeDesc(userId);
+                    bookings = bookingRepository.findAllByUserIdOrderByStartTimeDescIdDesc(userId, page);
                 }
         }
         return bookings.stream()
@@ -89,25 +158,26 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllBookingByOwner(Long ownerId, BookingStateFilter state) {
+    public List<BookingDto> getAllBookingByOwner(Long ownerId, BookingStateFilter state, int from, int size) {
         User owner = getUser(ownerId);
+        Pageable page = OffsetPageRequest.of(from, size);
         List<Booking> bookings;
         switch (state) {
             case BookingStateFilter.CURRENT:
-                bookings = bookingRepository.findCurrentBookingsByOwner(ownerId, LocalDateTime.now());
+                bookings = bookingRepository.findCurrentBookingsByOwner(ownerId, LocalDateTime.now(), page);
                 break;
             case BookingStateFilter.PAST:
-                bookings = bookingRepository.findPastBookingsByOwner(ownerId, LocalDateTime.now());
+                bookings = bookingRepository.findPastBookingsByOwner(ownerId, LocalDateTime.now(), page);
                 break;
             case BookingStateFilter.FUTURE:
-                bookings = bookingRepository.findFutureBookingsByOwner(ownerId, LocalDateTime.now());
+                bookings = bookingRepository.findFutureBookingsByOwner(ownerId, LocalDateTime.now(), page);
                 break;
             default:
                 if (state == BookingStateFilter.WAITING || state == BookingStateFilter.APPROVED
                         || state == BookingStateFilter.REJECTED) {
-                    bookings = bookingRepository.findAllByOwnerWithState(ownerId, BookingState.valueOf(state.name()));
+                    bookings = bookingRepository.findAllByOwnerWithState(ownerId, BookingState.valueOf(state.name()), page);
                 } else {
-                    bookings = bookingRepository.findAllByItemOwnerIdOrderByStartTimeDesc(ownerId);
+                    bookings = bookingRepository.findAllByItemOwnerIdOrderByStartTimeDescIdDesc(ownerId, page);
                 }
         }
         return bookings.stream()
@@ -120,6 +190,33 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException(String.format("Booking with id %d not found", bookingId)));
     }
 
+    private int approveWaitingBooking(Long bookingId, Long ownerId) {
+        try {
+            return bookingRepository.approveWaitingBooking(bookingId, ownerId);
+        } catch (DataIntegrityViolationException e) {
+            String rawMessage = e.getRootCause() != null ? e.getRootCause().getMessage() : e.getMessage();
+            if (rawMessage != null && rawMessage.contains(BOOKING_OVERLAP_CONSTRAINT)) {
+                throw new UnacceptableValueException(BOOKING_OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
+    private RuntimeException getApproveFailure(Long userId, Long bookingId) {
+        Booking booking = getBooking(bookingId);
+        validateOwner(booking.getItem().getOwner().getId(), userId);
+        if (booking.getState() != BookingState.WAITING) {
+            return new ValidationException(String.format("The status of booking should be WAITING. Current status is %s",
+                    booking.getState()));
+        }
+        return new UnacceptableValueException(BOOKING_OVERLAP_MESSAGE);
+    }
+
+    private Booking getBookingWithDetails(Long bookingId) {
+        return bookingRepository.findWithDetailsById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Booking with id %d not found", bookingId)));
+    }
+
     private User getUser(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("User with id %d not found", userId)));
@@ -132,7 +229,7 @@ public class BookingServiceImpl implements BookingService {
 
     private void validateItemAvailable(boolean isAvailable) {
         if (!isAvailable) {
-            throw new RuntimeException("Item is not available");
+            throw new ValidationException("Item is not available");
         }
     }
 
@@ -142,18 +239,39 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private Booking mapToBatchBooking(NewBookingRequest newBookingRequest, Map<Long, Item> items, User user,
+                                      Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> batchPeriods) {
+        Item item = items.get(newBookingRequest.getItemId());
+        if (item == null) {
+            throw new NotFoundException(String.format("Item with id %d not found", newBookingRequest.getItemId()));
+        }
+        validateItemAvailable(item.isAvailable());
+        Booking booking;
+        try {
+            booking = BookingMapper.mapToBooking(newBookingRequest, item, user);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(String.format("The booking period is not correct. Start %s, end %s",
+                    newBookingRequest.getStart(), newBookingRequest.getEnd()));
+        }
+        if (!booking.getStartTime().isBefore(booking.getEndTime())) {
+            throw new ValidationException(String.format("The booking period is not correct. Start %s, end %s",
+                    newBookingRequest.getStart(), newBookingRequest.getEnd()));
+        }
+        validatePeriodsOverlap(item, booking.getStartTime(), booking.getEndTime());
+
+        NavigableMap<LocalDateTime, LocalDateTime> periods = batchPeriods.computeIfAbsent(item.getId(),
+                id -> new TreeMap<>());
+        Map.Entry<LocalDateTime, LocalDateTime> period = periods.lowerEntry(booking.getEndTime());
+        if (period != null && period.getValue().isAfter(booking.getStartTime())) {
+            throw new UnacceptableValueException("The booking overlaps another booking of the batch");
+        }
+        periods.put(booking.getStartTime(), booking.getEndTime());
+        return booking;
+    }
+
     private void validatePeriodsOverlap(Item item, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Item> items = new ArrayList<>();
-        items.add(item);
-        List<Booking> bookings = bookingRepository.findAllCurrentAndFutureBookingForItems(items, LocalDateTime.now());
-        if (bookings.isEmpty()) {
-            return;
-        }
-        boolean isOverlap = bookings.stream()
-                .anyMatch(booking -> (startTime.isAfter(booking.getStartTime()) && startTime.isBefore(booking.getEndTime())) ||
-                            (endTime.isAfter(booking.getStartTime()) && endTime.isBefore(booking.getEndTime())));
-        if (isOverlap) {
-            throw new UnacceptableValueException("The item is already booked for this period");
+        if (bookingIntervalIndex.isOverlapping(item, startTime, endTime)) {
+            throw new UnacceptableValueException(BOOKING_OVERLAP_MESSAGE);
         }
     }
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select summary " +
+            "from ItemBookingSummary as summary " +
+            "where summary.itemId = ?1")
+    Optional<ItemBookingSummary> findByItemIdForUpdate(long itemId);
+
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    List<ItemBookingSummary> findAllByItemIdIn(List<Long> itemIds);
+
+    //summaries whose next booking has already started
+    List<ItemBookingSummary> findAllByNextStartTimeLessThanEqualOrderByItemId(LocalDateTime timeNow, Pageable page);
+
+    @Query("select itm.id " +
+            "from Item as itm " +
+            "where not exists (select summary from ItemBookingSummary as summary where summary.itemId = itm.id) " +
+            "order by itm.id")
+    List<Long> findItemIdsWithoutSummary(Pageable page);
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the last and next approved booking of every item in item_booking_summaries, so the owner view reads one row
+ * per item. Summaries change when a booking is approved and when the next booking starts; the latter is rolled
+ * forward by a periodic sweep and corrected on read until the sweep catches up. Writers lock the summary row
+ * before reading bookings, so concurrent approvals of one item update it in turn.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryTracker {
+    private static final int BATCH_SIZE = 100;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public void createSummary(long itemId) {
+        summaryRepository.save(new ItemBookingSummary(itemId));
+    }
+
+    /**
+     * Must be called within the approving transaction; the summary row stays locked until it ends. Items without
+     * a summary are left to the startup backfill and computed on read until then.
+     */
+    @Transactional
+    public void onApproved(Booking booking) {
+        long itemId = booking.getItem().getId();
+        LocalDateTime timeNow = LocalDateTime.now();
+        Optional<ItemBookingSummary> summaryOpt = summaryRepository.findByItemIdForUpdate(itemId);
+        if (summaryOpt.isEmpty()) {
+            return;
+        }
+        if (isStale(summaryOpt.get(), timeNow)) {
+            summaryRepository.save(compute(itemId, timeNow));
+            return;
+        }
+        ItemBookingSummary summary = summaryOpt.get();
+        if (booking.getStartTime().isAfter(timeNow)) {
+            if (summary.getNextStartTime() == null || booking.getStartTime().isBefore(summary.getNextStartTime())) {
+                setNextBooking(summary, booking);
+            }
+        } else if (summary.getLastBooking() == null
+                || booking.getStartTime().isAfter(summary.getLastBooking().getStartTime())) {
+            summary.setLastBooking(booking);
+        }
+    }
+
+    public Map<Long, ItemBookingSummary> getSummaries(List<Long> itemIds) {
+        LocalDateTime timeNow = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (ItemBookingSummary summary : summaryRepository.findAllByItemIdIn(itemIds)) {
+            summaries.put(summary.getItemId(), summary);
+        }
+        for (Long itemId : itemIds) {
+            ItemBookingSummary summary = summaries.get(itemId);
+            if (summary == null || isStale(summary, timeNow)) {
+                summaries.put(itemId, compute(itemId, timeNow));
+            }
+        }
+        return summaries;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-forward-delay:60000}")
+    public void rollForward() {
+        int rolled;
+        do {
+            rolled = transactionTemplate.execute(status -> {
+                LocalDateTime timeNow = LocalDateTime.now();
+                List<ItemBookingSummary> stale = summaryRepository.findAllByNextStartTimeLessThanEqualOrderByItemId(
+                        timeNow, PageRequest.of(0, BATCH_SIZE));
+                for (ItemBookingSummary summary : stale) {
+                    summaryRepository.findByItemIdForUpdate(summary.getItemId());
+                    summaryRepository.save(compute(summary.getItemId(), timeNow));
+                }
+                return stale.size();
+            });
+            log.debug("Booking summaries rolled forward: {}", rolled);
+        } while (rolled == BATCH_SIZE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int created;
+        do {
+            created = transactionTemplate.execute(status -> {
+                LocalDateTime timeNow = LocalDateTime.now();
+                List<Long> itemIds = summaryRepository.findItemIdsWithoutSummary(PageRequest.of(0, BATCH_SIZE));
+                for (Long itemId : itemIds) {
+                    itemRepository.findByIdForUpdate(itemId);
+                    if (!summaryRepository.existsById(itemId)) {
+                        summaryRepository.save(compute(itemId, timeNow));
+                    }
+                }
+                return itemIds.size();
+            });
+            log.debug("Booking summaries created for existing items: {}", created);
+        } while (created == BATCH_SIZE);
+    }
+
+    private ItemBookingSummary compute(long itemId, LocalDateTime timeNow) {
+        ItemBookingSummary summary = new ItemBookingSummary(itemId);
+        bookingRepository.findTop1ByItemIdAndStartTimeBeforeAndStateOrderByStartTimeDesc(itemId, timeNow,
+                BookingState.APPROVED).ifPresent(summary::setLastBooking);
+        bookingRepository.findTop1ByItemIdAndStartTimeAfterAndStateOrderByStartTimeAsc(itemId, timeNow,
+                BookingState.APPROVED).ifPresent(booking -> setNextBooking(summary, booking));
+        return summary;
+    }
+
+    private static boolean isStale(ItemBookingSummary summary, LocalDateTime timeNow) {
+        return summary.getNextStartTime() != null && !summary.getNextStartTime().isAfter(timeNow);
+    }
+
+    private static void setNextBooking(ItemBookingSummary summary, Booking booking) {
+        summary.setNextBooking(booking);
+        summary.setNextStartTime(booking.getStartTime());
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.approval-lock", havingValue = "item-row")
+public class ItemRowApprovalLock implements ApprovalLock {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public void lockItemOfBooking(long bookingId) {
+        itemRepository.findByBookingIdForUpdate(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Booking with id %d not found", bookingId)));
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.approval-lock", havingValue = "none", matchIfMissing = true)
+public class NoApprovalLock implements ApprovalLock {
+    @Override
+    public void lockItemOfBooking(long bookingId) {
+    }
+}
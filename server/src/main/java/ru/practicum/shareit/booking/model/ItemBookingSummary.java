@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "item_booking_summaries")
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = {"itemId"})
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    @ToString.Exclude
+    private Booking lastBooking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    @ToString.Exclude
+    private Booking nextBooking;
+
+    @Column(name = "next_start_time")
+    private LocalDateTime nextStartTime;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Adds a strong ETag, the hash of the response body, to GET responses of the polled resources and answers
+ * a matching If-None-Match with 304 Not Modified and no body. Handlers that already set an ETag from row
+ * versions, as the single booking and request views do, keep it and answer 304 before loading anything.
+ */
+@Configuration
+public class EtagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/bookings/*", "/items/*", "/requests/*");
+        return registration;
+    }
+}
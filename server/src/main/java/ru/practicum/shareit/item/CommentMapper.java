@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 import ru.practicum.shareit.item.dto.NewCommentRequest;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -32,4 +33,13 @@ public class CommentMapper {
                 comment.getText(),
                 created);
     }
+
+    public static ItemCommentDto mapToItemCommentDto(Comment comment) {
+        return new ItemCommentDto(
+                comment.getId(),
+                comment.getItem().getId(),
+                comment.getAuthor().getName(),
+                comment.getText(),
+                comment.getCreated().format(dateTimeFormatter));
+    }
  }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
@@ -8,15 +10,42 @@ import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = {"author"})
     List<Comment> findAllByItemIdOrderByCreatedDesc(Long itemId);
 
+    @EntityGraph(attributePaths = {"author"})
+    List<Comment> findAllByItemIdOrderByCreatedDescIdDesc(Long itemId, Pageable page);
+
     List<Comment> findAllByAuthorIdOrderByCreatedDesc(Long authorId);
 
+    @EntityGraph(attributePaths = {"author"})
     @Query("select comment " +
             "from Comment as comment " +
             "where comment.item.id = ?1 " +
-            "and LOWER(comment.text) like LOWER(CONCAT('%', ?2, '%'))")
-    List<Comment> findAllByItemByPattern(Long itemId, String pattern);
+            "and LOWER(comment.text) like LOWER(CONCAT('%', ?2, '%')) " +
+            "order by comment.created desc, comment.id desc")
+    List<Comment> findAllByItemByPattern(Long itemId, String pattern, Pageable page);
+
+    @EntityGraph(attributePaths = {"author"})
+    @Query("select comment " +
+            "from Comment as comment " +
+            "where LOWER(comment.text) like LOWER(CONCAT('%', ?1, '%')) " +
+            "order by comment.created desc, comment.id desc")
+    List<Comment> findAllByPattern(String pattern, Pageable page);
+
+    @Query(value = "select cmt.* " +
+            "from comments as cmt " +
+            "where cmt.item_id = ?1 " +
+            "and to_tsvector('simple', cmt.text) @@ to_tsquery('simple', ?2) " +
+            "order by cmt.created desc, cmt.id desc", nativeQuery = true)
+    List<Comment> findAllByItemByFullText(Long itemId, String query, Pageable page);
+
+    @Query(value = "select cmt.* " +
+            "from comments as cmt " +
+            "where to_tsvector('simple', cmt.text) @@ to_tsquery('simple', ?1) " +
+            "order by ts_rank(to_tsvector('simple', cmt.text), to_tsquery('simple', ?1)) desc, cmt.id desc",
+            nativeQuery = true)
+    List<Comment> findAllByFullText(String query, Pageable page);
 
     List<Comment> findAllByItemIdInOrderByCreatedDesc(List<Long> itemIds);
 }
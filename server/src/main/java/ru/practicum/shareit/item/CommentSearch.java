@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Comment;
+
+import java.util.List;
+
+/**
+ * Finds comments by a text pattern, either on one item or across all items. Selected by
+ * {@code shareit.search.engine} like {@link ItemSearch}.
+ */
+public interface CommentSearch {
+    List<Comment> searchItemComments(long itemId, String pattern, Pageable page);
+
+    List<Comment> search(String pattern, Pageable page);
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Comment;
+
+import java.util.List;
+
+/**
+ * PostgreSQL full-text search over the GIN index comments_search_idx, with the same prefix matching as
+ * {@link FullTextItemSearch}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "full-text")
+public class FullTextCommentSearch implements CommentSearch {
+    private final CommentRepository commentRepository;
+
+    @Override
+    public List<Comment> searchItemComments(long itemId, String pattern, Pageable page) {
+        String query = FullTextItemSearch.toPrefixQuery(pattern);
+        return query.isEmpty() ? List.of() : commentRepository.findAllByItemByFullText(itemId, query, page);
+    }
+
+    @Override
+    public List<Comment> search(String pattern, Pageable page) {
+        String query = FullTextItemSearch.toPrefixQuery(pattern);
+        return query.isEmpty() ? List.of() : commentRepository.findAllByFullText(query, page);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL full-text search over the GIN index items_search_idx. Every word of the pattern is matched
+ * as a prefix of a word of the name or description. Results are ordered by the same relevance tiers as the
+ * other engines, then by ts_rank.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "full-text")
+public class FullTextItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String pattern, Pageable page) {
+        String query = toPrefixQuery(pattern);
+        return query.isEmpty() ? List.of() : itemRepository.findItemsByFullText(query, pattern, page);
+    }
+
+    @Override
+    public List<Item> searchFreeInPeriod(String pattern, LocalDateTime start, LocalDateTime end, Pageable page) {
+        String query = toPrefixQuery(pattern);
+        return query.isEmpty() ? List.of() : itemRepository.findAvailableItemsByFullText(query, pattern, start, end,
+                page);
+    }
+
+    static String toPrefixQuery(String pattern) {
+        return Arrays.stream(pattern.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -3,10 +3,13 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -28,9 +31,35 @@ public class ItemController {
 
     @GetMapping("/search")
     public Collection<ItemDto> getItemsByName(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam String text) {
-        log.debug("Method search by pattern of name. Pattern : {}", text);
-        return itemService.getItemsByPattern(text);
+                                              @RequestParam String text,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                              @RequestParam(defaultValue = "false") boolean fuzzy,
+                                              @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.debug("Method search by pattern of name. Pattern : {}, start : {}, end : {}, fuzzy : {}", text, start, end,
+                fuzzy);
+        return itemService.getItemsByPattern(text, start, end, fuzzy, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemDtoAnswer> getSuggestions(@RequestHeader("X-Sharer-User-Id") long userId,
+                                              @RequestParam String prefix,
+                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        return itemService.getSuggestions(prefix, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityPeriodDto> getAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @PathVariable long itemId,
+                                                       @RequestParam(required = false)
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                       @RequestParam
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                       @RequestParam(defaultValue = "false") boolean includeWaiting) {
+        return itemService.getAvailability(itemId, from, to, includeWaiting);
     }
 
     @PostMapping
@@ -47,6 +76,23 @@ public class ItemController {
         return itemService.updateItem(userId, itemId, updateItemRequest);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getComments(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        @PathVariable long itemId,
+                                        @RequestParam(required = false) String text,
+                                        @RequestParam(name = "from", defaultValue = "0") int from,
+                                        @RequestParam(name = "size", defaultValue = "10") int size) {
+        return itemService.getComments(itemId, text, from, size);
+    }
+
+    @GetMapping("/comments")
+    public List<ItemCommentDto> searchComments(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestParam String text,
+                                               @RequestParam(name = "from", defaultValue = "0") int from,
+                                               @RequestParam(name = "size", defaultValue = "10") int size) {
+        return itemService.searchComments(text, from, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") long userId,
                                  @Valid @RequestBody NewCommentRequest newCommentRequest,
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded cache of assembled item views keyed by item id, each tagged with the version of the item row it was
+ * loaded after. A view is served only while the row still has that version, so a change made through any node
+ * is seen by every node on its next read. Views are loaded outside the cache, so no repository call runs while
+ * a cache bin is locked; a loaded view is installed only if no newer one was installed meanwhile.
+ * Hit and miss counters are published as the "items" cache metrics.
+ */
+@Component
+public class ItemDtoCache {
+    private final Cache<Long, VersionedItemDto> items;
+
+    public ItemDtoCache(@Value("${shareit.item-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${shareit.item-cache.expire-after-write:1m}") Duration expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+    }
+
+    /**
+     * The cached view if it is at least as new as the given version of the item row, otherwise a freshly loaded
+     * one. The version is read before the load, so a view is never tagged newer than it is. If a concurrent load
+     * installed a newer view first, that view is kept and returned.
+     */
+    public ItemDto get(long itemId, long version, LongFunction<ItemDto> loader) {
+        VersionedItemDto cached = items.getIfPresent(itemId);
+        if (cached != null && cached.version() >= version) {
+            return cached.itemDto();
+        }
+        VersionedItemDto loaded = new VersionedItemDto(version, loader.apply(itemId));
+        return items.asMap().merge(itemId, loaded, (current, fresh) -> current.version() >= fresh.version()
+                ? current
+                : fresh).itemDto();
+    }
+
+    private record VersionedItemDto(long version, ItemDto itemDto) {
+    }
+}
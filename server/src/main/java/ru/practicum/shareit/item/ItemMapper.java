@@ -6,11 +6,16 @@ import ru.practicum.shareit.booking.dto.LastBookingDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 import java.util.Set;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ItemMapper {
+    private static final DateTimeFormatter dateTimeFormatter =
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneOffset.UTC);
 
     public static Item mapToItem(NewItemRequest newItemRequest) {
         Item item = new Item();
@@ -53,4 +58,8 @@ public class ItemMapper {
             item.setAvailable(updateItemRequest.getAvailable());
         }
     }
+
+    public static AvailabilityPeriodDto mapToAvailabilityPeriodDto(LocalDateTime start, LocalDateTime end) {
+        return new AvailabilityPeriodDto(dateTimeFormatter.format(start), dateTimeFormatter.format(end));
+    }
 }
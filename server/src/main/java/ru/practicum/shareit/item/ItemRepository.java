@@ -1,23 +1,117 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwner(User user);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select itm " +
+            "from Item as itm " +
+            "where itm.id = ?1")
+    Optional<Item> findByIdForUpdate(long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select itm " +
+            "from Item as itm " +
+            "where itm.id = (select booking.item.id from Booking as booking where booking.id = ?1)")
+    Optional<Item> findByBookingIdForUpdate(long bookingId);
+
+    @Query("select itm " +
+            "from Item as itm " +
+            "where itm.available = true " +
+            "and (UPPER(itm.name) like UPPER(CONCAT('%', ?1, '%')) " +
+            "or UPPER(itm.description) like UPPER(CONCAT('%', ?1, '%'))) " +
+            "order by case when UPPER(itm.name) = UPPER(?1) then 0 " +
+            "when UPPER(itm.name) like UPPER(CONCAT(?1, '%')) then 1 " +
+            "when UPPER(itm.name) like UPPER(CONCAT('%', ?1, '%')) then 2 " +
+            "else 3 end, itm.id")
+    List<Item> findItemsByPattern(String pattern, Pageable page);
+
     @Query("select itm " +
             "from Item as itm " +
             "where itm.available = true " +
             "and (UPPER(itm.name) like UPPER(CONCAT('%', ?1, '%')) " +
-            "or UPPER(itm.description) like UPPER(CONCAT('%', ?1, '%')))")
-    List<Item> findItemsByPattern(String pattern);
+            "or UPPER(itm.description) like UPPER(CONCAT('%', ?1, '%'))) " +
+            "and not exists (select booking.id " +
+            "from Booking as booking " +
+            "where booking.item.id = itm.id " +
+            "and booking.state = 'APPROVED' " +
+            "and booking.startTime < ?3 " +
+            "and booking.endTime > ?2) " +
+            "order by case when UPPER(itm.name) = UPPER(?1) then 0 " +
+            "when UPPER(itm.name) like UPPER(CONCAT(?1, '%')) then 1 " +
+            "when UPPER(itm.name) like UPPER(CONCAT('%', ?1, '%')) then 2 " +
+            "else 3 end, itm.id")
+    List<Item> findAvailableItemsByPattern(String pattern, LocalDateTime start, LocalDateTime end, Pageable page);
+
+    @Query(value = "select itm.* " +
+            "from items as itm " +
+            "where itm.available = true " +
+            "and to_tsvector('simple', itm.name || ' ' || coalesce(itm.description, '')) @@ to_tsquery('simple', ?1) " +
+            "order by case when lower(itm.name) = lower(?2) then 0 " +
+            "when lower(itm.name) like lower(?2) || '%' then 1 " +
+            "when lower(itm.name) like '%' || lower(?2) || '%' then 2 " +
+            "else 3 end, " +
+            "ts_rank(to_tsvector('simple', itm.name || ' ' || coalesce(itm.description, '')), " +
+            "to_tsquery('simple', ?1)) desc, itm.id", nativeQuery = true)
+    List<Item> findItemsByFullText(String query, String pattern, Pageable page);
+
+    @Query(value = "select itm.* " +
+            "from items as itm " +
+            "where itm.available = true " +
+            "and to_tsvector('simple', itm.name || ' ' || coalesce(itm.description, '')) @@ to_tsquery('simple', ?1) " +
+            "and not exists (select 1 " +
+            "from bookings as booking " +
+            "where booking.item_id = itm.id " +
+            "and booking.state = 'APPROVED' " +
+            "and booking.start_time < ?4 " +
+            "and booking.end_time > ?3) " +
+            "order by case when lower(itm.name) = lower(?2) then 0 " +
+            "when lower(itm.name) like lower(?2) || '%' then 1 " +
+            "when lower(itm.name) like '%' || lower(?2) || '%' then 2 " +
+            "else 3 end, " +
+            "ts_rank(to_tsvector('simple', itm.name || ' ' || coalesce(itm.description, '')), " +
+            "to_tsquery('simple', ?1)) desc, itm.id", nativeQuery = true)
+    List<Item> findAvailableItemsByFullText(String query, String pattern, LocalDateTime start, LocalDateTime end,
+                                            Pageable page);
+
+    @Query("select itm.id " +
+            "from Item as itm " +
+            "where itm.id in ?1 " +
+            "and not exists (select booking.id " +
+            "from Booking as booking " +
+            "where booking.item.id = itm.id " +
+            "and booking.state = 'APPROVED' " +
+            "and booking.startTime < ?3 " +
+            "and booking.endTime > ?2)")
+    List<Long> findFreeItemIdsInPeriod(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    List<Item> findAllByIdGreaterThanOrderById(long itemId, Pageable page);
+
+    /**
+     * Version of the item view, raised on every change to the item or its comments.
+     */
+    @Query(value = "select itm.version from items as itm where itm.id = ?1", nativeQuery = true)
+    Optional<Long> findVersionById(long itemId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update items set version = version + 1 where id = ?1", nativeQuery = true)
+    void incrementVersion(long itemId);
 
     @Query("select itm " +
             "from Item as itm " +
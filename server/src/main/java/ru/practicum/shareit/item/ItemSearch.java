@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds available items by a text pattern. The implementation is selected by {@code shareit.search.engine}.
+ */
+public interface ItemSearch {
+    List<Item> search(String pattern, Pageable page);
+
+    List<Item> searchFreeInPeriod(String pattern, LocalDateTime start, LocalDateTime end, Pageable page);
+
+    /**
+     * Called after an item is created or changed. Engines that keep their own index update it here.
+     */
+    default void indexItem(Item item) {
+    }
+
+    /**
+     * Called when items are deleted with their owner.
+     */
+    default void removeItems(Collection<Long> itemIds) {
+    }
+}
@@ -2,18 +2,30 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto getItemById(long itemId);
 
     Collection<ItemDto> getItemsByOwnerId(long userId);
 
-    Collection<ItemDto> getItemsByPattern(String pattern);
+    Collection<ItemDto> getItemsByPattern(String pattern, LocalDateTime start, LocalDateTime end, boolean fuzzy,
+                                          int from, int size);
+
+    List<ItemDtoAnswer> getSuggestions(String prefix, int size);
 
     ItemDto addItem(long userId, NewItemRequest newItemRequest);
 
     ItemDto updateItem(long userId, long itemId, UpdateItemRequest updateItemRequest);
 
+    List<AvailabilityPeriodDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to,
+                                                boolean includeWaiting);
+
+    List<CommentDto> getComments(long itemId, String text, int from, int size);
+
+    List<ItemCommentDto> searchComments(String text, int from, int size);
+
     CommentDto addComment(NewCommentRequest newCommentRequest, long userId, long itemId);
 }
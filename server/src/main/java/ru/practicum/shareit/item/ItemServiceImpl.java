@@ -2,19 +2,25 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.ItemBookingSummaryTracker;
 import ru.practicum.shareit.booking.dto.LastBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.UnacceptableValueException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.persistence.AssociationBatchLoader;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -29,18 +35,36 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ItemRepository itemStorage;
     private final UserRepository userStorage;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemBookingSummaryTracker itemBookingSummaryTracker;
+    private final ItemSearch itemSearch;
+    private final ItemTermDictionary itemTermDictionary;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final CommentSearch commentSearch;
+    private final ItemDtoCache itemDtoCache;
+    private final AssociationBatchLoader associationBatchLoader;
 
     @Override
     public ItemDto getItemById(long itemId) {
+        Optional<Long> version = itemStorage.findVersionById(itemId);
+        if (version.isEmpty()) {
+            return loadItemDto(itemId);
+        }
+        return itemDtoCache.get(itemId, version.get(), this::loadItemDto);
+    }
+
+    private ItemDto loadItemDto(long itemId) {
         Item item = validateItemNotFound(itemId);
         Set<CommentDto> comments = commentRepository.findAllByItemIdOrderByCreatedDesc(itemId).stream()
                 .map(CommentMapper::mapToCommentDto)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
         return ItemMapper.mapToItemDto(item, null, null, comments);
     }
 
@@ -49,34 +73,47 @@ public class ItemServiceImpl implements ItemService {
         User owner = validateUserNotFound(ownerId);
 
         List<Item> items = itemStorage.findAllByOwner(owner);
-        List<Booking> allBookings = bookingRepository.findAllApprovedBookings(items);
         List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryTracker.getSummaries(itemIds);
         List<Comment> allComments = commentRepository.findAllByItemIdInOrderByCreatedDesc(itemIds);
-
-        Map<Long, List<Booking>> itemsBookings = new HashMap<>();
-        for (Booking booking : allBookings) {
-            Long itemId = booking.getItem().getId();
-            if (!itemsBookings.containsKey(itemId)) {
-                itemsBookings.put(itemId, new ArrayList<>());
-            }
-            List<Booking> curBookings = itemsBookings.get(itemId);
-            curBookings.add(booking);
-        }
+        associationBatchLoader.load(allComments, Comment::getAuthor);
 
         return items.stream().map(item -> {
-            List<Booking> bookings = itemsBookings.get(item.getId());
-            return ItemMapper.mapToItemDto(item, getLastBooking(bookings), getNextBooking(bookings),
-                    getCommentDtos(item, allComments));
+            ItemBookingSummary summary = summaries.get(item.getId());
+            return ItemMapper.mapToItemDto(item, mapToLastBookingDto(summary.getLastBooking()),
+                    mapToLastBookingDto(summary.getNextBooking()), getCommentDtos(item, allComments));
             }).toList();
     }
 
     @Override
-    public Collection<ItemDto> getItemsByPattern(String pattern) {
-        return itemStorage.findItemsByPattern(pattern.trim()).stream()
+    public Collection<ItemDto> getItemsByPattern(String pattern, LocalDateTime start, LocalDateTime end,
+                                                 boolean fuzzy, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        String searchPattern = fuzzy ? itemTermDictionary.correct(pattern) : pattern.trim();
+        List<Item> items;
+        if (start == null && end == null) {
+            items = itemSearch.search(searchPattern, page);
+        } else {
+            if (start == null || end == null || !start.isBefore(end)) {
+                throw new ValidationException(String.format("The period is not correct. Start %s, end %s", start, end));
+            }
+            items = itemSearch.searchFreeInPeriod(searchPattern, start, end, page);
+        }
+        return items.stream()
                 .map(item -> ItemMapper.mapToItemDto(item, null, null, Set.of()))
                 .toList();
     }
 
+    @Override
+    public List<ItemDtoAnswer> getSuggestions(String prefix, int size) {
+        if (size <= 0 || size > MAX_SUGGESTIONS) {
+            throw new ValidationException(String.format("The number of suggestions should be from 1 to %d",
+                    MAX_SUGGESTIONS));
+        }
+        String trimmedPrefix = prefix.strip();
+        return trimmedPrefix.isEmpty() ? List.of() : itemSuggestIndex.suggest(trimmedPrefix, size);
+    }
+
     @Override
     @Transactional
     public ItemDto addItem(long userId, NewItemRequest newItemRequest) {
@@ -89,8 +126,13 @@ public class ItemServiceImpl implements ItemService {
                             newItemRequest.getRequestId())));
             log.debug("Check request, requestId={}, finded request {}", newItemRequest.getRequestId(), itemRequest);
             item.setItemRequest(itemRequest);
+            itemRequestRepository.incrementVersion(itemRequest.getId());
         }
         Item newItem = itemStorage.save(item);
+        itemBookingSummaryTracker.createSummary(newItem.getId());
+        itemSearch.indexItem(newItem);
+        itemTermDictionary.onItemSaved(null, null, newItem);
+        itemSuggestIndex.onItemSaved(newItem);
         log.info("Item saved {}", newItem);
         return ItemMapper.mapToItemDto(newItem, null, null, Set.of());
     }
@@ -104,8 +146,81 @@ public class ItemServiceImpl implements ItemService {
             log.warn("The process validation id of owner of item ended with an error. {}", message);
             throw new UnacceptableValueException(message);
         }
+        String oldName = item.getName();
+        String oldDescription = item.getDescription();
         ItemMapper.updateItemFields(item, updateItemRequest);
-        return ItemMapper.mapToItemDto(itemStorage.save(item), null, null, Set.of());
+        Item updatedItem = itemStorage.save(item);
+        itemSearch.indexItem(updatedItem);
+        itemTermDictionary.onItemSaved(oldName, oldDescription, updatedItem);
+        itemSuggestIndex.onItemSaved(updatedItem);
+        itemStorage.incrementVersion(itemId);
+        if (updatedItem.getItemRequest() != null) {
+            itemRequestRepository.incrementVersion(updatedItem.getItemRequest().getId());
+        }
+        return ItemMapper.mapToItemDto(updatedItem, null, null, Set.of());
+    }
+
+    @Override
+    public List<AvailabilityPeriodDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to,
+                                                       boolean includeWaiting) {
+        if (from != null && !from.isBefore(to)) {
+            throw new ValidationException(String.format("The period is not correct. From %s, to %s", from, to));
+        }
+        Item item = validateItemNotFound(itemId);
+        LocalDateTime timeNow = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(timeNow) ? timeNow : from;
+        if (!item.isAvailable() || !start.isBefore(to)) {
+            return List.of();
+        }
+
+        List<Map.Entry<LocalDateTime, LocalDateTime>> busyPeriods =
+                new ArrayList<>(bookingIntervalIndex.findBusyPeriods(item, start, to));
+        if (includeWaiting) {
+            bookingRepository.findAllWaitingBookingsForItemInPeriod(itemId, start, to)
+                    .forEach(booking -> busyPeriods.add(Map.entry(booking.getStartTime(), booking.getEndTime())));
+            busyPeriods.sort(Map.Entry.comparingByKey());
+        }
+
+        List<AvailabilityPeriodDto> freePeriods = new ArrayList<>();
+        LocalDateTime freeStart = start;
+        for (Map.Entry<LocalDateTime, LocalDateTime> busyPeriod : busyPeriods) {
+            if (busyPeriod.getKey().isAfter(freeStart)) {
+                freePeriods.add(ItemMapper.mapToAvailabilityPeriodDto(freeStart, busyPeriod.getKey()));
+            }
+            if (busyPeriod.getValue().isAfter(freeStart)) {
+                freeStart = busyPeriod.getValue();
+            }
+        }
+        if (freeStart.isBefore(to)) {
+            freePeriods.add(ItemMapper.mapToAvailabilityPeriodDto(freeStart, to));
+        }
+        return freePeriods;
+    }
+
+    @Override
+    public List<CommentDto> getComments(long itemId, String text, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        validateItemNotFound(itemId);
+        List<Comment> comments = text == null || text.isBlank()
+                ? commentRepository.findAllByItemIdOrderByCreatedDescIdDesc(itemId, page)
+                : commentSearch.searchItemComments(itemId, text.trim(), page);
+        associationBatchLoader.load(comments, Comment::getAuthor);
+        return comments.stream()
+                .map(CommentMapper::mapToCommentDto)
+                .toList();
+    }
+
+    @Override
+    public List<ItemCommentDto> searchComments(String text, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        if (text.isBlank()) {
+            return List.of();
+        }
+        List<Comment> comments = commentSearch.search(text.trim(), page);
+        associationBatchLoader.load(comments, Comment::getAuthor);
+        return comments.stream()
+                .map(CommentMapper::mapToItemCommentDto)
+                .toList();
     }
 
     @Override
@@ -117,14 +232,14 @@ public class ItemServiceImpl implements ItemService {
         if (item.getOwner().getId() == userId) {
             throw new UnacceptableValueException("The owner should not add comment to item");
         }
-        bookingRepository.findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(author.getId(), item.getId(), LocalDateTime.now())
-                .stream()
-                .filter(booking -> booking.getState() == BookingState.APPROVED)
-                .findFirst()
-                .orElseThrow(() -> new ValidationException("The user has no completed bookings and can't add a comment"));
+        if (!bookingRepository.existsByUserIdAndItemIdAndStateAndEndTimeBefore(author.getId(), item.getId(),
+                BookingState.APPROVED, LocalDateTime.now())) {
+            throw new ValidationException("The user has no completed bookings and can't add a comment");
+        }
         Comment comment = CommentMapper.mapToComment(newCommentRequest, author, item);
-
-        return CommentMapper.mapToCommentDto(commentRepository.save(comment));
+        Comment savedComment = commentRepository.save(comment);
+        itemStorage.incrementVersion(itemId);
+        return CommentMapper.mapToCommentDto(savedComment);
     }
 
     private Item validateItemNotFound(long itemId) {
@@ -151,36 +266,13 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    public LastBookingDto getLastBooking(List<Booking> bookings) {
-        if (bookings == null) {
-            return null;
-        }
-        Optional<Booking> bookingOpt =  bookings.stream()
-                .filter(b -> (b.getEndTime().isBefore(LocalDateTime.now()) ||
-                        b.getStartTime().isBefore(LocalDateTime.now()) && b.getEndTime().isAfter(LocalDateTime.now())))
-                .max(Comparator.comparing(Booking::getEndTime));
-        if (bookingOpt.isEmpty()) {
-            return null;
-        }
-        return BookingMapper.mapToLastBookingDto(bookingOpt.get());
-    }
-
-    public LastBookingDto getNextBooking(List<Booking> bookings) {
-        if (bookings == null) {
-            return null;
-        }
-        Optional<Booking> bookingOpt =  bookings.stream()
-                .filter(b -> b.getStartTime().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStartTime));
-        if (bookingOpt.isEmpty()) {
-            return null;
-        }
-        return BookingMapper.mapToLastBookingDto(bookingOpt.get());
+    private LastBookingDto mapToLastBookingDto(Booking booking) {
+        return booking == null ? null : BookingMapper.mapToLastBookingDto(booking);
     }
 
     public Set<CommentDto> getCommentDtos(Item item, List<Comment> allComments) {
         return allComments.stream()
-                .filter(comment -> comment.getItem() == item)
+                .filter(comment -> comment.getItem().getId() == item.getId())
                 .map(CommentMapper::mapToCommentDto)
                 .collect(Collectors.toSet());
     }
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDtoAnswer;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted map from the lower-cased name of every available item, and from every word start inside it,
+ * to the item. A prefix lookup is a walk over the tail of the map, so suggestions never touch the database.
+ * Matches are ranked exact name first, then name prefix, then word prefix, keeping only the best {@code size}
+ * of them in a bounded heap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+    private static final int BUILD_CHUNK_SIZE = 1000;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ItemRepository itemRepository;
+    private final ConcurrentSkipListMap<String, ItemDtoAnswer> suggestions = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysByItem = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, BUILD_CHUNK_SIZE));
+            items.forEach(item -> keysByItem.computeIfAbsent(item.getId(), itemId -> put(item)));
+            if (!items.isEmpty()) {
+                lastId = items.getLast().getId();
+            }
+        } while (items.size() == BUILD_CHUNK_SIZE);
+        built = true;
+        log.info("Item suggest index built, keys={}", suggestions.size());
+    }
+
+    public void onItemSaved(Item item) {
+        ItemDtoAnswer suggestion = ItemMapper.mapToItemDtoShort(item);
+        boolean available = item.isAvailable();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            replace(suggestion, available);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                replace(suggestion, available);
+            }
+        });
+    }
+
+    /**
+     * Drops the items after the deleting transaction commits. While the index is still being built, a deleted
+     * item is left with no keys rather than no entry, so the build does not add it back.
+     */
+    public void onItemsDeleted(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            itemIds.forEach(this::remove);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemIds.forEach(ItemSuggestIndex.this::remove);
+            }
+        });
+    }
+
+    public List<ItemDtoAnswer> suggest(String prefix, int size) {
+        String keyPrefix = prefix.toLowerCase(Locale.ROOT);
+        PriorityQueue<Suggestion> worstFirst = new PriorityQueue<>(Suggestion.BEST_FIRST.reversed());
+        Map<Long, Suggestion> kept = new HashMap<>();
+        for (Map.Entry<String, ItemDtoAnswer> entry : suggestions.tailMap(keyPrefix).entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(keyPrefix)) {
+                break;
+            }
+            ItemDtoAnswer item = entry.getValue();
+            String name = item.getName().toLowerCase(Locale.ROOT);
+            Suggestion suggestion = new Suggestion(rank(key, name, keyPrefix), name, item);
+            Suggestion current = kept.get(item.getId());
+            if (current != null) {
+                if (Suggestion.BEST_FIRST.compare(suggestion, current) >= 0) {
+                    continue;
+                }
+                worstFirst.remove(current);
+            } else if (worstFirst.size() == size) {
+                if (Suggestion.BEST_FIRST.compare(suggestion, worstFirst.peek()) >= 0) {
+                    continue;
+                }
+                kept.remove(worstFirst.poll().item().getId());
+            }
+            worstFirst.add(suggestion);
+            kept.put(item.getId(), suggestion);
+        }
+        return worstFirst.stream().sorted(Suggestion.BEST_FIRST).map(Suggestion::item).toList();
+    }
+
+    private static int rank(String key, String name, String keyPrefix) {
+        if (!key.startsWith(name + KEY_SEPARATOR)) {
+            return 2;
+        }
+        return name.equals(keyPrefix) ? 0 : 1;
+    }
+
+    private void replace(ItemDtoAnswer suggestion, boolean available) {
+        keysByItem.compute(suggestion.getId(), (itemId, oldKeys) -> {
+            if (oldKeys != null) {
+                oldKeys.forEach(suggestions::remove);
+            }
+            return available ? put(suggestion) : null;
+        });
+    }
+
+    private void remove(long itemId) {
+        keysByItem.compute(itemId, (id, oldKeys) -> {
+            if (oldKeys != null) {
+                oldKeys.forEach(suggestions::remove);
+            }
+            return built ? null : List.of();
+        });
+    }
+
+    private List<String> put(Item item) {
+        return item.isAvailable() ? put(ItemMapper.mapToItemDtoShort(item)) : List.of();
+    }
+
+    private List<String> put(ItemDtoAnswer suggestion) {
+        String name = suggestion.getName().toLowerCase(Locale.ROOT);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isLetterOrDigit(name.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)))) {
+                String key = name.substring(i) + KEY_SEPARATOR + suggestion.getId();
+                suggestions.put(key, suggestion);
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private record Suggestion(int rank, String name, ItemDtoAnswer item) {
+        static final Comparator<Suggestion> BEST_FIRST = Comparator.comparingInt(Suggestion::rank)
+                .thenComparing(Suggestion::name)
+                .thenComparingLong(suggestion -> suggestion.item().getId());
+    }
+}
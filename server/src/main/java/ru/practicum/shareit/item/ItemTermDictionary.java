@@ -0,0 +1,314 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted dictionary of the words used in item names and descriptions, with the number of items using each
+ * word. Misspelled words of a search pattern are corrected to the closest known word by Levenshtein distance.
+ * Candidates come from a symmetric deletion index: every word is indexed under the strings left after deleting
+ * up to two characters of its first {@value #PREFIX_LENGTH} characters, so a lookup only touches words that
+ * share such a deletion with the misspelling.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemTermDictionary {
+    private static final int BUILD_CHUNK_SIZE = 1000;
+    private static final int MAX_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 7;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Terms terms = new Terms();
+    private Map<Long, PendingUpdate> pendingUpdates = new HashMap<>();
+
+    /**
+     * Builds the dictionary into fresh maps and swaps them in under the write lock. Items saved or deleted before
+     * the swap are held back and reconciled with the text the build actually read, so every item is counted once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Terms built = new Terms();
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, BUILD_CHUNK_SIZE));
+            long firstId = lastId;
+            if (!items.isEmpty()) {
+                lastId = items.getLast().getId();
+            }
+            long throughId = items.size() == BUILD_CHUNK_SIZE ? lastId : Long.MAX_VALUE;
+            lock.writeLock().lock();
+            try {
+                for (Item item : items) {
+                    Set<String> itemTerms = terms(item.getName(), item.getDescription());
+                    itemTerms.forEach(built::add);
+                    PendingUpdate update = pendingUpdates.get(item.getId());
+                    if (update != null && update.counted == null) {
+                        update.counted = itemTerms;
+                    }
+                }
+                pendingUpdates.forEach((itemId, update) -> {
+                    if (update.counted == null && itemId > firstId && itemId <= throughId) {
+                        update.counted = Set.of();
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (items.size() == BUILD_CHUNK_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            for (PendingUpdate update : pendingUpdates.values()) {
+                if (update.added != null) {
+                    (update.counted != null ? update.counted : update.removed).forEach(built::remove);
+                    update.added.forEach(built::add);
+                }
+            }
+            terms = built;
+            pendingUpdates = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item term dictionary built, terms={}", built.counts.size());
+    }
+
+    public void onItemSaved(String oldName, String oldDescription, Item item) {
+        long itemId = item.getId();
+        Set<String> removed = oldName == null ? Set.of() : terms(oldName, oldDescription);
+        Set<String> added = terms(item.getName(), item.getDescription());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(itemId, removed, added);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                watch(itemId);
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(itemId, removed, added);
+            }
+        });
+    }
+
+    /**
+     * Forgets the terms of items deleted with their owner, once the deleting transaction commits.
+     */
+    public void onItemsDeleted(Collection<Item> items) {
+        Map<Long, Set<String>> removedByItem = new HashMap<>();
+        items.forEach(item -> removedByItem.put(item.getId(), terms(item.getName(), item.getDescription())));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removedByItem.forEach((itemId, removed) -> apply(itemId, removed, Set.of()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                removedByItem.keySet().forEach(ItemTermDictionary.this::watch);
+            }
+
+            @Override
+            public void afterCommit() {
+                removedByItem.forEach((itemId, removed) -> apply(itemId, removed, Set.of()));
+            }
+        });
+    }
+
+    /**
+     * Replaces every word of the pattern that is neither a known word nor the prefix of one with the closest
+     * known word. Words without a close enough match are kept as typed.
+     */
+    public String correct(String pattern) {
+        String[] words = pattern.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < words.length; i++) {
+                if (!isKnownPrefix(words[i])) {
+                    words[i] = findClosestTerm(words[i]).orElse(words[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return String.join(" ", words);
+    }
+
+    /**
+     * Marks an item whose change is about to commit, so a build reading it afterwards records what it counted.
+     */
+    private void watch(long itemId) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                pendingUpdates.computeIfAbsent(itemId, id -> new PendingUpdate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(long itemId, Set<String> removed, Set<String> added) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates == null) {
+                removed.forEach(terms::remove);
+                added.forEach(terms::add);
+                return;
+            }
+            PendingUpdate update = pendingUpdates.computeIfAbsent(itemId, id -> new PendingUpdate());
+            if (update.removed == null) {
+                update.removed = removed;
+            }
+            update.added = added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isKnownPrefix(String word) {
+        String term = terms.counts.ceilingKey(word);
+        return term != null && term.startsWith(word);
+    }
+
+    private Optional<String> findClosestTerm(String word) {
+        int maxDistance = word.length() < 4 ? 1 : MAX_DISTANCE;
+        String closest = null;
+        int closestDistance = maxDistance + 1;
+        for (String term : findCandidates(word, maxDistance)) {
+            int distance = distance(word, term, Math.min(closestDistance, maxDistance));
+            if (distance < closestDistance || distance == closestDistance && closest != null
+                    && terms.counts.get(term) > terms.counts.get(closest)) {
+                closest = term;
+                closestDistance = distance;
+            }
+        }
+        return Optional.ofNullable(closest);
+    }
+
+    /**
+     * Words sharing a deletion of at most {@code maxDistance} characters with the word; a superset of the words
+     * within that distance. Callers hold the read lock.
+     */
+    Set<String> findCandidates(String word, int maxDistance) {
+        Set<String> candidates = new HashSet<>();
+        for (String deletion : deletions(word, maxDistance)) {
+            candidates.addAll(terms.termsByDeletion.getOrDefault(deletion, Set.of()));
+        }
+        return candidates;
+    }
+
+    private static Set<String> terms(String name, String description) {
+        String text = description == null ? name : name + " " + description;
+        Set<String> terms = new HashSet<>();
+        for (String term : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> deletions(String term, int maxDistance) {
+        Set<String> deletions = new HashSet<>();
+        addDeletions(term.substring(0, Math.min(term.length(), PREFIX_LENGTH)), maxDistance, deletions);
+        return deletions;
+    }
+
+    private static void addDeletions(String text, int remaining, Set<String> deletions) {
+        if (!deletions.add(text) || remaining == 0) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            addDeletions(text.substring(0, i) + text.substring(i + 1), remaining - 1, deletions);
+        }
+    }
+
+    /**
+     * Levenshtein distance, or {@code maxDistance + 1} as soon as the distance is known to exceed the bound.
+     */
+    static int distance(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[second.length()], maxDistance + 1);
+    }
+
+    private static final class Terms {
+        private final NavigableMap<String, Integer> counts = new TreeMap<>();
+        private final Map<String, Set<String>> termsByDeletion = new HashMap<>();
+
+        void add(String term) {
+            if (counts.merge(term, 1, Integer::sum) == 1) {
+                deletions(term, MAX_DISTANCE).forEach(deletion ->
+                        termsByDeletion.computeIfAbsent(deletion, key -> new HashSet<>()).add(term));
+            }
+        }
+
+        void remove(String term) {
+            Integer count = counts.get(term);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                counts.put(term, count - 1);
+                return;
+            }
+            counts.remove(term);
+            for (String deletion : deletions(term, MAX_DISTANCE)) {
+                Set<String> terms = termsByDeletion.get(deletion);
+                if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                    termsByDeletion.remove(deletion);
+                }
+            }
+        }
+    }
+
+    /**
+     * A change to an item committed while the dictionary was being built: the terms the build counted for the
+     * item, if it read the item's range after the change was announced (none if the item was already deleted),
+     * the terms before the first change, and the terms after the last one.
+     */
+    private static final class PendingUpdate {
+        private Set<String> counted;
+        private Set<String> removed;
+        private Set<String> added;
+    }
+}
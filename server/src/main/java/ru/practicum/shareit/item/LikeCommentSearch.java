@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Comment;
+
+import java.util.List;
+
+/**
+ * Substring search with LIKE, used by every engine except full-text. Searches on one item only read that
+ * item's comments through the (item_id, created) index.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${shareit.search.engine:like}' != 'full-text'")
+public class LikeCommentSearch implements CommentSearch {
+    private final CommentRepository commentRepository;
+
+    @Override
+    public List<Comment> searchItemComments(long itemId, String pattern, Pageable page) {
+        return commentRepository.findAllByItemByPattern(itemId, pattern, page);
+    }
+
+    @Override
+    public List<Comment> search(String pattern, Pageable page) {
+        return commentRepository.findAllByPattern(pattern, page);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Substring search with LIKE. Works on every database but cannot use an index.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String pattern, Pageable page) {
+        return itemRepository.findItemsByPattern(pattern, page);
+    }
+
+    @Override
+    public List<Item> searchFreeInPeriod(String pattern, LocalDateTime start, LocalDateTime end, Pageable page) {
+        return itemRepository.findAvailableItemsByPattern(pattern, start, end, page);
+    }
+}
@@ -0,0 +1,480 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process positional index over the names and descriptions of available items. Every indexed item is a
+ * numbered document, and every trigram of its lower-cased text points to a sorted array of longs packing the
+ * document number and the offset of the trigram. A substring query keeps the documents where all trigrams of
+ * the pattern occur at consecutive offsets, so matches are verified without a copy of the item text. Patterns
+ * shorter than a trigram go to the database. Results match the LIKE search: available items whose name or
+ * description contains the pattern, ranked by the same relevance tiers and then by id.
+ * <p>
+ * A changed or deleted item only marks its document dead; the postings are rewritten without dead documents
+ * once those hold half of all trigram offsets.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class MemoryItemSearch implements ItemSearch {
+    private static final int GRAM_LENGTH = 3;
+    private static final int BUILD_CHUNK_SIZE = 1000;
+    private static final int FREE_IDS_CHUNK_SIZE = 1000;
+    private static final int DESCRIPTION_OFFSET = 1 << 30;
+    private static final int MIN_COMPACTED_OFFSETS = 1 << 12;
+    private static final int NO_DOCUMENT = -1;
+    private static final int MISSING = -2;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongIntMap documentsByItem = new LongIntMap();
+    private LongIntMap postingsByGram = new LongIntMap();
+    private List<Postings> postings = new ArrayList<>();
+    private long[] itemIds = new long[16];
+    private int[] nameLengths = new int[16];
+    private int[] offsetCounts = new int[16];
+    private BitSet liveDocuments = new BitSet();
+    private int documentCount;
+    private long offsetCount;
+    private long liveOffsetCount;
+    private volatile boolean ready;
+
+    /**
+     * Indexes the items in id order. Items indexed or removed while the build runs are newer than what the
+     * build read, so the build skips them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, BUILD_CHUNK_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (Item item : items) {
+                    if (documentsByItem.get(item.getId(), MISSING) == MISSING && item.isAvailable()) {
+                        addDocument(toDocument(item));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!items.isEmpty()) {
+                lastId = items.getLast().getId();
+            }
+        } while (items.size() == BUILD_CHUNK_SIZE);
+        ready = true;
+        log.info("Item search index built, items={}, grams={}", liveDocuments.cardinality(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String pattern, Pageable page) {
+        if (!ready || pattern.length() < GRAM_LENGTH) {
+            return itemRepository.findItemsByPattern(pattern, page);
+        }
+        List<Long> itemIds = findMatchingIds(pattern, page.getOffset(), page.getPageSize());
+        return loadItems(itemIds);
+    }
+
+    /**
+     * Walks the ranked matches in rounds. Each round keeps a bounded heap twice as deep as the previous one and
+     * checks the newly ranked ids against the database in chunks, stopping as soon as the page is filled.
+     */
+    @Override
+    public List<Item> searchFreeInPeriod(String pattern, LocalDateTime start, LocalDateTime end, Pageable page) {
+        if (!ready || pattern.length() < GRAM_LENGTH) {
+            return itemRepository.findAvailableItemsByPattern(pattern, start, end, page);
+        }
+        long wanted = page.getOffset() + page.getPageSize();
+        List<Long> freeItemIds = new ArrayList<>();
+        long ranked = 0;
+        long depth = Math.max(wanted, FREE_IDS_CHUNK_SIZE);
+        while (freeItemIds.size() < wanted) {
+            List<Long> itemIds = findMatchingIds(pattern, ranked, (int) Math.min(depth - ranked, Integer.MAX_VALUE));
+            for (int from = 0; from < itemIds.size() && freeItemIds.size() < wanted; from += FREE_IDS_CHUNK_SIZE) {
+                List<Long> chunk = itemIds.subList(from, Math.min(from + FREE_IDS_CHUNK_SIZE, itemIds.size()));
+                Set<Long> free = new HashSet<>(itemRepository.findFreeItemIdsInPeriod(chunk, start, end));
+                chunk.stream().filter(free::contains).forEach(freeItemIds::add);
+            }
+            if (ranked + itemIds.size() < depth) {
+                break;
+            }
+            ranked = depth;
+            depth *= 2;
+        }
+        return loadItems(freeItemIds.stream()
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .toList());
+    }
+
+    @Override
+    public void indexItem(Item item) {
+        Document document = toDocument(item);
+        afterCommit(() -> {
+            removeDocument(document.itemId());
+            if (document.available()) {
+                addDocument(document);
+            }
+        });
+    }
+
+    @Override
+    public void removeItems(Collection<Long> itemIds) {
+        List<Long> removed = List.copyOf(itemIds);
+        afterCommit(() -> removed.forEach(this::removeDocument));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(change);
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (ready && offsetCount > MIN_COMPACTED_OFFSETS && offsetCount > 2 * liveOffsetCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(Document document) {
+        if (documentCount == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, documentCount * 2);
+            nameLengths = Arrays.copyOf(nameLengths, documentCount * 2);
+            offsetCounts = Arrays.copyOf(offsetCounts, documentCount * 2);
+        }
+        int documentNumber = documentCount++;
+        itemIds[documentNumber] = document.itemId();
+        nameLengths[documentNumber] = document.name().length();
+        int offsets = addGrams(documentNumber, document.name(), 0)
+                + addGrams(documentNumber, document.description(), DESCRIPTION_OFFSET);
+        offsetCounts[documentNumber] = offsets;
+        offsetCount += offsets;
+        liveOffsetCount += offsets;
+        liveDocuments.set(documentNumber);
+        documentsByItem.put(document.itemId(), documentNumber);
+    }
+
+    /**
+     * Document numbers only grow, so appending keeps every postings array sorted.
+     */
+    private int addGrams(int documentNumber, String text, int firstOffset) {
+        int offsets = 0;
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            long gram = gram(text, i);
+            int slot = postingsByGram.get(gram, MISSING);
+            if (slot == MISSING) {
+                slot = postings.size();
+                postings.add(new Postings());
+                postingsByGram.put(gram, slot);
+            }
+            postings.get(slot).append(pack(documentNumber, firstOffset + i));
+            offsets++;
+        }
+        return offsets;
+    }
+
+    /**
+     * Marks the item's document dead. The item stays mapped to no document, so a build still running does not
+     * index the version it read.
+     */
+    private void removeDocument(long itemId) {
+        int documentNumber = documentsByItem.get(itemId, MISSING);
+        if (documentNumber >= 0 && liveDocuments.get(documentNumber)) {
+            liveDocuments.clear(documentNumber);
+            liveOffsetCount -= offsetCounts[documentNumber];
+        }
+        documentsByItem.put(itemId, NO_DOCUMENT);
+    }
+
+    /**
+     * Renumbers the live documents in their current order and rewrites the postings without dead documents.
+     */
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int liveCount = 0;
+        for (int documentNumber = 0; documentNumber < documentCount; documentNumber++) {
+            if (liveDocuments.get(documentNumber)) {
+                itemIds[liveCount] = itemIds[documentNumber];
+                nameLengths[liveCount] = nameLengths[documentNumber];
+                offsetCounts[liveCount] = offsetCounts[documentNumber];
+                renumbered[documentNumber] = liveCount++;
+            } else {
+                renumbered[documentNumber] = NO_DOCUMENT;
+            }
+        }
+        LongIntMap compactedByGram = new LongIntMap();
+        List<Postings> compactedPostings = new ArrayList<>();
+        for (int i = 0; i < postingsByGram.keys.length; i++) {
+            if (postingsByGram.keys[i] != LongIntMap.EMPTY) {
+                Postings compacted = postings.get(postingsByGram.values[i]).compact(renumbered);
+                if (compacted.size > 0) {
+                    compactedByGram.put(postingsByGram.keys[i], compactedPostings.size());
+                    compactedPostings.add(compacted);
+                }
+            }
+        }
+        LongIntMap compactedByItem = new LongIntMap();
+        for (int documentNumber = 0; documentNumber < liveCount; documentNumber++) {
+            compactedByItem.put(itemIds[documentNumber], documentNumber);
+        }
+        postingsByGram = compactedByGram;
+        postings = compactedPostings;
+        documentsByItem = compactedByItem;
+        liveDocuments = new BitSet(liveCount);
+        liveDocuments.set(0, liveCount);
+        log.debug("Item search index compacted, documents={}, offsets={}", liveCount, liveOffsetCount);
+        documentCount = liveCount;
+        offsetCount = liveOffsetCount;
+    }
+
+    /**
+     * Returns the ids of the best {@code limit} matches after skipping {@code offset}. Only offset + limit
+     * matches are kept in a heap whose head is the worst of them, so a page costs O(n log k).
+     */
+    private List<Long> findMatchingIds(String pattern, long offset, int limit) {
+        String needle = pattern.toLowerCase(Locale.ROOT);
+        long capacity = offset + limit;
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.BEST_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            forEachMatch(needle, (documentNumber, firstOffset) -> {
+                best.add(new Match(score(needle, documentNumber, firstOffset), itemIds[documentNumber]));
+                if (best.size() > capacity) {
+                    best.poll();
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Match.BEST_FIRST);
+        return matches.stream()
+                .skip(offset)
+                .map(Match::itemId)
+                .toList();
+    }
+
+    /**
+     * Walks the rarest trigram of the needle and passes every live document containing the whole needle,
+     * with the first offset it starts at, to the action.
+     */
+    private void forEachMatch(String needle, MatchConsumer action) {
+        Postings[] needlePostings = new Postings[needle.length() - GRAM_LENGTH + 1];
+        int rarest = 0;
+        for (int i = 0; i < needlePostings.length; i++) {
+            int slot = postingsByGram.get(gram(needle, i), MISSING);
+            if (slot == MISSING) {
+                return;
+            }
+            needlePostings[i] = postings.get(slot);
+            if (needlePostings[i].size < needlePostings[rarest].size) {
+                rarest = i;
+            }
+        }
+        Postings rarestPostings = needlePostings[rarest];
+        int lastMatched = NO_DOCUMENT;
+        for (int i = 0; i < rarestPostings.size; i++) {
+            long entry = rarestPostings.entries[i];
+            int documentNumber = (int) (entry >>> 32);
+            int firstOffset = (int) entry - rarest;
+            if (documentNumber != lastMatched && liveDocuments.get(documentNumber) && firstOffset >= 0
+                    && occursAt(needlePostings, documentNumber, firstOffset)) {
+                action.accept(documentNumber, firstOffset);
+                lastMatched = documentNumber;
+            }
+        }
+    }
+
+    /**
+     * Exact name match, then name prefix, then name substring, then a hit in the description only. Offsets of a
+     * document are walked in order, so the first match is the best one.
+     */
+    private int score(String needle, int documentNumber, int firstOffset) {
+        if (firstOffset >= DESCRIPTION_OFFSET) {
+            return 0;
+        }
+        if (firstOffset > 0) {
+            return 1;
+        }
+        return needle.length() == nameLengths[documentNumber] ? 3 : 2;
+    }
+
+    private List<Item> loadItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static boolean occursAt(Postings[] needlePostings, int documentNumber, int firstOffset) {
+        for (int i = 0; i < needlePostings.length; i++) {
+            if (!needlePostings[i].contains(pack(documentNumber, firstOffset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Document toDocument(Item item) {
+        String name = item.getName().toLowerCase(Locale.ROOT);
+        String description = item.getDescription() == null ? "" : item.getDescription().toLowerCase(Locale.ROOT);
+        return new Document(item.getId(), name, description, item.isAvailable());
+    }
+
+    private static long gram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static long pack(int documentNumber, int offset) {
+        return ((long) documentNumber << 32) | offset;
+    }
+
+    /**
+     * The lower-cased text of an item, held only until it is indexed.
+     */
+    private record Document(long itemId, String name, String description, boolean available) {
+    }
+
+    private record Match(int score, long itemId) {
+        static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::score).reversed()
+                .thenComparingLong(Match::itemId);
+    }
+
+    @FunctionalInterface
+    private interface MatchConsumer {
+        void accept(int documentNumber, int firstOffset);
+    }
+
+    /**
+     * Sorted document number and offset pairs of one trigram, each packed into a long.
+     */
+    private static final class Postings {
+        private long[] entries = new long[4];
+        private int size;
+
+        void append(long entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        boolean contains(long entry) {
+            return Arrays.binarySearch(entries, 0, size, entry) >= 0;
+        }
+
+        Postings compact(int[] renumbered) {
+            Postings compacted = new Postings();
+            compacted.entries = new long[Math.max(size, 1)];
+            for (int i = 0; i < size; i++) {
+                int documentNumber = renumbered[(int) (entries[i] >>> 32)];
+                if (documentNumber != NO_DOCUMENT) {
+                    compacted.entries[compacted.size++] = pack(documentNumber, (int) entries[i]);
+                }
+            }
+            compacted.entries = Arrays.copyOf(compacted.entries, Math.max(compacted.size, 1));
+            return compacted;
+        }
+    }
+
+    /**
+     * Open-addressing map from long keys to int values, so neither is boxed.
+     */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        int get(long key, int missing) {
+            for (int i = index(key, keys.length); ; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return missing;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            int i = index(key, keys.length);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != EMPTY) {
+                    int i = index(oldKeys[j], keys.length);
+                    while (keys[i] != EMPTY) {
+                        i = (i + 1) & (keys.length - 1);
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int index(long key, int capacity) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (capacity - 1);
+        }
+    }
+}
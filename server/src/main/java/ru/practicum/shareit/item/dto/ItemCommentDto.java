@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemCommentDto {
+    private Long id;
+    private Long itemId;
+    private String authorName;
+    private String text;
+    private String created;
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.persistence;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Resolves a lazy association of a whole list of entities at once. The ids behind the uninitialized proxies
+ * are collected first and each entity type is then loaded with one multi-id query into the current persistence
+ * context, so mapping the list afterwards initializes every proxy without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class AssociationBatchLoader {
+    private final EntityManager entityManager;
+
+    public <T> void load(Collection<T> entities, Function<? super T, ?> association) {
+        Map<String, Set<Object>> idsByEntityName = new HashMap<>();
+        for (T entity : entities) {
+            LazyInitializer initializer = HibernateProxy.extractLazyInitializer(association.apply(entity));
+            if (initializer != null && initializer.isUninitialized()) {
+                idsByEntityName.computeIfAbsent(initializer.getEntityName(), entityName -> new LinkedHashSet<>())
+                        .add(initializer.getInternalIdentifier());
+            }
+        }
+        if (idsByEntityName.isEmpty()) {
+            return;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        idsByEntityName.forEach((entityName, ids) -> session.byMultipleIds(entityName).multiLoad(List.copyOf(ids)));
+    }
+}
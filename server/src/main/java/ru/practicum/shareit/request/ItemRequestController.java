@@ -2,10 +2,12 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -31,7 +33,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequest(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @PathVariable(name = "requestId") long requestId) {
+                                     @PathVariable(name = "requestId") long requestId,
+                                     WebRequest webRequest) {
+        Optional<Long> version = itemRequestService.getRequestVersion(userId, requestId);
+        if (version.isPresent() && webRequest.checkNotModified(String.valueOf(version.get()))) {
+            return null;
+        }
         return itemRequestService.getRequest(userId, requestId);
     }
 }
@@ -1,13 +1,41 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
      List<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(long userId);
 
      List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(long userId);
+
+     /**
+      * Version of the request view, if the user exists: the requestor version plus the request version. The
+      * request version is raised whenever an item answering it is added, changed or removed, so both parts only
+      * grow and any change to the view raises the sum.
+      */
+     @Query(value = "select requestor.version + request.version " +
+             "from requests as request " +
+             "join users as requestor on requestor.id = request.user_id " +
+             "where request.id = ?1 " +
+             "and exists (select 1 from users as caller where caller.id = ?2)", nativeQuery = true)
+     Optional<Long> findViewVersion(long requestId, long userId);
+
+     @Modifying(flushAutomatically = true)
+     @Query(value = "update requests set version = version + 1 where id = ?1", nativeQuery = true)
+     void incrementVersion(long requestId);
+
+     /**
+      * Raises the version of every request answered by an item of the owner, before the owner and the items are
+      * deleted.
+      */
+     @Modifying(flushAutomatically = true)
+     @Query(value = "update requests set version = version + 1 " +
+             "where id in (select itm.request_id from items as itm where itm.user_id = ?1)", nativeQuery = true)
+     void incrementVersionsAnsweredByOwner(long ownerId);
 }
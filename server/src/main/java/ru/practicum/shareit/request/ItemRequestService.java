@@ -4,6 +4,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
 
@@ -14,4 +15,6 @@ public interface ItemRequestService {
     List<ItemRequestDto> getAll(long userId);
 
     ItemRequestDto getRequest(long userId, long requestId);
+
+    Optional<Long> getRequestVersion(long userId, long requestId);
 }
@@ -9,6 +9,7 @@ import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDtoAnswer;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.AssociationBatchLoader;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -25,6 +26,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final AssociationBatchLoader associationBatchLoader;
 
     @Override
     @Transactional
@@ -50,7 +52,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> getAll(long userId) {
         validateUserNotFound(userId);
-        return itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId).stream()
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId);
+        associationBatchLoader.load(requests, ItemRequest::getRequestor);
+        return requests.stream()
                 .map(itemRequest -> ItemRequestMapper.mapToItemRequestDto(itemRequest, Set.of()))
                 .toList();
     }
@@ -63,6 +67,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.mapToItemRequestDto(itemRequest, answers.get(itemRequest.getId()));
     }
 
+    @Override
+    public Optional<Long> getRequestVersion(long userId, long requestId) {
+        return itemRequestRepository.findViewVersion(requestId, userId);
+    }
+
     private Map<Long, Set<ItemDtoAnswer>> getAnswersByRequests(List<ItemRequest> requests) {
         Map<Long, Set<ItemDtoAnswer>> requestsAnswer = new HashMap<>();
         List<Long> requestsId = requests.stream().map(request -> request.getId()).toList();
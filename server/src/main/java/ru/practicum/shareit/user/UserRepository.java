@@ -1,7 +1,13 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update users set version = version + 1 where id = ?1", nativeQuery = true)
+    void incrementVersion(long userId);
 }
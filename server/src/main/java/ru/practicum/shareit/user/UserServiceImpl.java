@@ -4,12 +4,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearch;
+import ru.practicum.shareit.item.ItemSuggestIndex;
+import ru.practicum.shareit.item.ItemTermDictionary;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -17,9 +24,21 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userStorage;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemTermDictionary itemTermDictionary;
+    private final ItemSearch itemSearch;
 
-    public UserServiceImpl(UserRepository userStorage) {
+    public UserServiceImpl(UserRepository userStorage, ItemRequestRepository itemRequestRepository,
+                           ItemRepository itemRepository, ItemSuggestIndex itemSuggestIndex,
+                           ItemTermDictionary itemTermDictionary, ItemSearch itemSearch) {
         this.userStorage = userStorage;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.itemSuggestIndex = itemSuggestIndex;
+        this.itemTermDictionary = itemTermDictionary;
+        this.itemSearch = itemSearch;
         log.debug("User service. Bean UserRepository created.");
     }
 
@@ -52,7 +71,9 @@ public class UserServiceImpl implements UserService {
         log.debug("Method update user by id in User service.");
         User user = validateUserNotFound(userId);
         UserMapper.updateUserFields(user, updateUserRequest);
-        return UserMapper.mapToUserDto(userStorage.save(user));
+        User updatedUser = userStorage.save(user);
+        userStorage.incrementVersion(userId);
+        return UserMapper.mapToUserDto(updatedUser);
     }
 
     @Override
@@ -60,7 +81,13 @@ public class UserServiceImpl implements UserService {
     public void deleteUserById(long userId) {
         log.debug("Method delete user by id in User service.");
         User user = validateUserNotFound(userId);
+        List<Item> items = itemRepository.findAllByOwner(user);
+        itemRequestRepository.incrementVersionsAnsweredByOwner(userId);
         userStorage.delete(user);
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        itemSearch.removeItems(itemIds);
+        itemSuggestIndex.onItemsDeleted(itemIds);
+        itemTermDictionary.onItemsDeleted(items);
     }
 
     private User validateUserNotFound(long userId) {
@@ -1,17 +1,23 @@
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(320) NOT NULL UNIQUE
+    email VARCHAR(320) NOT NULL UNIQUE,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     user_id BIGINT NOT NULL,
     description VARCHAR(500) NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     user_id BIGINT NOT NULL,
@@ -19,21 +25,57 @@ CREATE TABLE IF NOT EXISTS items (
     description VARCHAR(250),
     available BOOLEAN NOT NULL,
     request_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT items_to_users FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id) ON DELETE SET NULL
 );
 
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
     item_id BIGINT NOT NULL,
     user_id BIGINT NOT NULL,
     state VARCHAR(50) NOT NULL,
     start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER SEQUENCE bookings_seq OWNED BY bookings.id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_approved_no_overlap') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap EXCLUDE USING gist (
+            item_id WITH =,
+            tsrange(start_time, end_time) WITH &&
+        ) WHERE (state = 'APPROVED');
+    END IF;
+END
+$$;
+
+SELECT setval('bookings_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM bookings), (SELECT last_value FROM bookings_seq)));
+
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+    item_id BIGINT PRIMARY KEY,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    next_start_time TIMESTAMP WITHOUT TIME ZONE,
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    FOREIGN KEY (last_booking_id) REFERENCES bookings(id) ON DELETE SET NULL,
+    FOREIGN KEY (next_booking_id) REFERENCES bookings(id) ON DELETE SET NULL
+);
+
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     item_id BIGINT NOT NULL,
@@ -44,3 +86,24 @@ CREATE TABLE IF NOT EXISTS comments (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (user_id, created DESC);
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (user_id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS items_search_idx ON items
+    USING GIN (to_tsvector('simple', name || ' ' || coalesce(description, '')));
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (user_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_state_start_idx ON bookings (user_id, state, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_state_start_idx ON bookings (item_id, state, start_time);
+CREATE INDEX IF NOT EXISTS bookings_waiting_idx ON bookings (item_id, start_time) WHERE state = 'WAITING';
+CREATE INDEX IF NOT EXISTS bookings_approved_booker_item_end_idx ON bookings (user_id, item_id, end_time)
+    WHERE state = 'APPROVED';
+
+CREATE INDEX IF NOT EXISTS item_booking_summaries_next_start_idx ON item_booking_summaries (next_start_time);
+
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created DESC);
+CREATE INDEX IF NOT EXISTS comments_author_created_idx ON comments (user_id, created DESC);
+CREATE INDEX IF NOT EXISTS comments_search_idx ON comments USING GIN (to_tsvector('simple', text));
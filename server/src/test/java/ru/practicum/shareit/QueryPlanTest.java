@@ -0,0 +1,161 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SqlStatementRecorder")
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanTest {
+    private static final Pattern TABLE_SCAN =
+            Pattern.compile("/\\* PUBLIC\\.(BOOKINGS|ITEMS|ITEM_BOOKING_SUMMARIES|COMMENTS|REQUESTS)\\.tableScan");
+    private static final int USERS = 50;
+    private static final int ITEMS_PER_USER = 4;
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int COMMENTS_PER_ITEM = 5;
+
+    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueries_shouldNotScanLargeTables() {
+        User owner = userRepository.save(new User(0L, "Some Name", RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0L, owner, "Some item", "Some description", true, null, null, null));
+        seedLargeTables();
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = OffsetPageRequest.of(0, 10);
+        long userId = owner.getId();
+        long itemId = item.getId();
+        long bookingId = jdbcTemplate.queryForObject("select max(id) from bookings", Long.class);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllByUserId", () -> bookingRepository.findAllByUserIdOrderByStartTimeDescIdDesc(userId, page));
+        queries.put("findAllByUserIdAndEndTimeBefore", () ->
+                bookingRepository.findAllByUserIdAndEndTimeBeforeOrderByStartTimeDescIdDesc(userId, now, page));
+        queries.put("existsByUserIdAndItemIdAndStateAndEndTimeBefore", () ->
+                bookingRepository.existsByUserIdAndItemIdAndStateAndEndTimeBefore(userId, itemId,
+                        BookingState.APPROVED, now));
+        queries.put("findAllByUserIdAndStartTimeAfter", () ->
+                bookingRepository.findAllByUserIdAndStartTimeAfterOrderByStartTimeDescIdDesc(userId, now, page));
+        queries.put("findAllByUserIdAndStartTimeBeforeAndEndTimeAfter", () ->
+                bookingRepository.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDescIdDesc(userId,
+                        now, now, page));
+        queries.put("findAllByUserIdAndState", () ->
+                bookingRepository.findAllByUserIdAndStateOrderByStartTimeDescIdDesc(userId, BookingState.WAITING, page));
+        queries.put("findPastBookingsByOwner", () -> bookingRepository.findPastBookingsByOwner(userId, now, page));
+        queries.put("findFutureBookingsByOwner", () -> bookingRepository.findFutureBookingsByOwner(userId, now, page));
+        queries.put("findCurrentBookingsByOwner", () -> bookingRepository.findCurrentBookingsByOwner(userId, now, page));
+        queries.put("findAllByOwnerWithState", () ->
+                bookingRepository.findAllByOwnerWithState(userId, BookingState.WAITING, page));
+        queries.put("findAllByItemOwnerId", () -> bookingRepository.findAllByItemOwnerIdOrderByStartTimeDescIdDesc(userId, page));
+        queries.put("findAllCurrentAndFutureBookingForItems", () ->
+                bookingRepository.findAllCurrentAndFutureBookingForItems(List.of(item), now));
+        queries.put("findAllWaitingBookingsForItemInPeriod", () ->
+                bookingRepository.findAllWaitingBookingsForItemInPeriod(itemId, now, now.plusDays(30)));
+        queries.put("findByBookingIdForUpdate", () -> itemRepository.findByBookingIdForUpdate(bookingId));
+        queries.put("findWithDetailsById", () -> bookingRepository.findWithDetailsById(bookingId));
+        queries.put("approveWaitingBooking", () -> bookingRepository.approveWaitingBooking(bookingId, userId));
+        queries.put("rejectWaitingBooking", () -> bookingRepository.rejectWaitingBooking(bookingId, userId));
+        queries.put("findLastBooking", () ->
+                bookingRepository.findTop1ByItemIdAndStartTimeBeforeAndStateOrderByStartTimeDesc(itemId, now,
+                        BookingState.APPROVED));
+        queries.put("findNextBooking", () ->
+                bookingRepository.findTop1ByItemIdAndStartTimeAfterAndStateOrderByStartTimeAsc(itemId, now,
+                        BookingState.APPROVED));
+        queries.put("findSummaryForUpdate", () -> summaryRepository.findByItemIdForUpdate(itemId));
+        queries.put("findAllSummariesByItemIdIn", () -> summaryRepository.findAllByItemIdIn(List.of(itemId)));
+        queries.put("findStaleSummaries", () ->
+                summaryRepository.findAllByNextStartTimeLessThanEqualOrderByItemId(now, page));
+        queries.put("findAllByOwner", () -> itemRepository.findAllByOwner(owner));
+        queries.put("findAllByIdGreaterThanOrderById", () ->
+                itemRepository.findAllByIdGreaterThanOrderById(itemId, OffsetPageRequest.of(0, 100)));
+        queries.put("findFreeItemIdsInPeriod", () -> itemRepository.findFreeItemIdsInPeriod(List.of(itemId, itemId + 1),
+                now, now.plusDays(3)));
+        queries.put("findAllByItemRequestId", () -> itemRepository.findAllByItemRequestId(List.of(1L, 2L)));
+        queries.put("findAllByItemIdOrderByCreatedDesc", () -> commentRepository.findAllByItemIdOrderByCreatedDesc(itemId));
+        queries.put("findAllByAuthorIdOrderByCreatedDesc", () ->
+                commentRepository.findAllByAuthorIdOrderByCreatedDesc(userId));
+        queries.put("findAllByItemByPattern", () -> commentRepository.findAllByItemByPattern(itemId, "text", page));
+        queries.put("findAllByItemIdOrderByCreatedDescIdDesc", () ->
+                commentRepository.findAllByItemIdOrderByCreatedDescIdDesc(itemId, page));
+        queries.put("findAllByItemIdIn", () -> commentRepository.findAllByItemIdInOrderByCreatedDesc(List.of(itemId)));
+        queries.put("findAllByRequestorId", () -> itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId));
+        queries.put("findAllByRequestorIdNot", () -> itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId));
+
+        SqlStatementRecorder.drain();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            query.getValue().run();
+            List<String> statements = SqlStatementRecorder.drain();
+            assertFalse(statements.isEmpty(), query.getKey() + " did not run a statement");
+            for (String sql : statements) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                assertNotNull(plan, query.getKey() + " has no plan");
+                Matcher tableScan = TABLE_SCAN.matcher(plan);
+                if (tableScan.find()) {
+                    fail(query.getKey() + " scans " + tableScan.group(1) + ":\n" + plan);
+                }
+            }
+        }
+    }
+
+    private void seedLargeTables() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            jdbcTemplate.update("insert into users (name, email) values (?, ?)", "Some Name", RandomUtils.getRandomEmail());
+        }
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users", Long.class);
+        jdbcTemplate.batchUpdate("insert into requests (user_id, description, created) values (?, ?, ?)",
+                rows(USERS, i -> new Object[]{userIds.get(i % userIds.size()), "Some description", now.minusHours(i)}));
+        jdbcTemplate.batchUpdate("insert into items (user_id, name, description, available) values (?, ?, ?, true)",
+                rows(USERS * ITEMS_PER_USER, i -> new Object[]{userIds.get(i % userIds.size()), "Some item", "Some description"}));
+        List<Long> itemIds = jdbcTemplate.queryForList("select id from items", Long.class);
+        jdbcTemplate.batchUpdate("insert into bookings (item_id, user_id, state, start_time, end_time) values (?, ?, ?, ?, ?)",
+                rows(itemIds.size() * BOOKINGS_PER_ITEM, i -> new Object[]{itemIds.get(i % itemIds.size()),
+                        userIds.get(i % userIds.size()), BookingState.values()[i % BookingState.values().length].name(),
+                        now.plusHours(i), now.plusHours(i + 1)}));
+        jdbcTemplate.batchUpdate("insert into item_booking_summaries (item_id, next_start_time) values (?, ?)",
+                rows(itemIds.size(), i -> new Object[]{itemIds.get(i), now.plusHours(i)}));
+        jdbcTemplate.batchUpdate("insert into comments (item_id, user_id, text, created) values (?, ?, ?, ?)",
+                rows(itemIds.size() * COMMENTS_PER_ITEM, i -> new Object[]{itemIds.get(i % itemIds.size()),
+                        userIds.get(i % userIds.size()), "Some text", now.minusHours(i)}));
+        jdbcTemplate.execute("analyze");
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        return IntStream.range(0, count).mapToObj(row).toList();
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -25,6 +27,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -228,6 +231,152 @@ class ShareItTests {
 		assertThat(actualItemRequestById).usingRecursiveComparison().ignoringFields("created", "items").isEqualTo(actualItemRequest);
 	}
 
+	@Test
+	void getItem_shouldAnswerNotModifiedForMatchingEtag() {
+		UserDto owner = createUser();
+		ItemDto item = createItem(owner.getId());
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+		ResponseEntity<ItemDto> itemResponse = restTemplate.exchange(shareitServerUrl + "/items/" + item.getId(),
+				HttpMethod.GET, new HttpEntity<>(headers), ItemDto.class);
+
+		assertEquals(200, itemResponse.getStatusCode().value());
+		String etag = itemResponse.getHeaders().getETag();
+		assertNotNull(etag);
+		assertFalse(etag.startsWith("W/"));
+
+		headers.setIfNoneMatch(etag);
+		ResponseEntity<ItemDto> notModifiedResponse = restTemplate.exchange(shareitServerUrl + "/items/" + item.getId(),
+				HttpMethod.GET, new HttpEntity<>(headers), ItemDto.class);
+
+		assertEquals(304, notModifiedResponse.getStatusCode().value());
+		assertNull(notModifiedResponse.getBody());
+		assertEquals(etag, notModifiedResponse.getHeaders().getETag());
+	}
+
+	@Test
+	void getBooking_shouldAnswerNotModifiedUntilBookingIsApproved() {
+		UserDto owner = createUser();
+		UserDto booker = createUser();
+		UserDto stranger = createUser();
+		ItemDto item = createItem(owner.getId());
+		String start = dateTimeFormatter.format(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS));
+		String end = dateTimeFormatter.format(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS));
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Sharer-User-Id", String.valueOf(booker.getId()));
+		BookingDto booking = restTemplate.exchange(shareitServerUrl + "/bookings", HttpMethod.POST,
+				new HttpEntity<>(new NewBookingRequest(item.getId(), start, end), headers), BookingDto.class).getBody();
+		assertNotNull(booking);
+		String bookingUrl = shareitServerUrl + "/bookings/" + booking.getId();
+
+		ResponseEntity<BookingDto> bookingResponse = restTemplate.exchange(bookingUrl, HttpMethod.GET,
+				new HttpEntity<>(headers), BookingDto.class);
+		String etag = bookingResponse.getHeaders().getETag();
+		assertEquals(200, bookingResponse.getStatusCode().value());
+		assertNotNull(etag);
+
+		headers.setIfNoneMatch(etag);
+		assertEquals(304, restTemplate.exchange(bookingUrl, HttpMethod.GET, new HttpEntity<>(headers),
+				BookingDto.class).getStatusCode().value());
+
+		HttpHeaders strangerHeaders = new HttpHeaders();
+		strangerHeaders.set("X-Sharer-User-Id", String.valueOf(stranger.getId()));
+		strangerHeaders.setIfNoneMatch(etag);
+		assertTrue(restTemplate.exchange(bookingUrl, HttpMethod.GET, new HttpEntity<>(strangerHeaders),
+				String.class).getStatusCode().is4xxClientError());
+
+		HttpHeaders ownerHeaders = new HttpHeaders();
+		ownerHeaders.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+		new RestTemplate(new JdkClientHttpRequestFactory()).exchange(bookingUrl + "?approved=true", HttpMethod.PATCH,
+				new HttpEntity<>(ownerHeaders), BookingDto.class);
+
+		ResponseEntity<BookingDto> approvedResponse = restTemplate.exchange(bookingUrl, HttpMethod.GET,
+				new HttpEntity<>(headers), BookingDto.class);
+		assertEquals(200, approvedResponse.getStatusCode().value());
+		assertNotNull(approvedResponse.getBody());
+		assertEquals(BookingState.APPROVED, approvedResponse.getBody().getStatus());
+		assertNotEquals(etag, approvedResponse.getHeaders().getETag());
+	}
+
+	@Test
+	void getRequest_shouldAnswerNotModifiedUntilItemAnswersIt() {
+		UserDto requestor = createUser();
+		UserDto owner = createUser();
+		NewItemRequest newRequest = new NewItemRequest();
+		newRequest.setDescription("Need a ladder");
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Sharer-User-Id", String.valueOf(requestor.getId()));
+		ItemRequestDto request = restTemplate.exchange(shareitServerUrl + "/requests", HttpMethod.POST,
+				new HttpEntity<>(newRequest, headers), ItemRequestDto.class).getBody();
+		assertNotNull(request);
+		String requestUrl = shareitServerUrl + "/requests/" + request.getId();
+
+		ResponseEntity<ItemRequestDto> requestResponse = restTemplate.exchange(requestUrl, HttpMethod.GET,
+				new HttpEntity<>(headers), ItemRequestDto.class);
+		String etag = requestResponse.getHeaders().getETag();
+		assertEquals(200, requestResponse.getStatusCode().value());
+		assertNotNull(etag);
+
+		headers.setIfNoneMatch(etag);
+		assertEquals(304, restTemplate.exchange(requestUrl, HttpMethod.GET, new HttpEntity<>(headers),
+				ItemRequestDto.class).getStatusCode().value());
+
+		HttpHeaders ownerHeaders = new HttpHeaders();
+		ownerHeaders.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+		ru.practicum.shareit.item.dto.NewItemRequest answer = ru.practicum.shareit.item.dto.NewItemRequest.builder()
+				.name("Ladder").description("Three meters").available(true).requestId(request.getId()).build();
+		restTemplate.exchange(shareitServerUrl + "/items", HttpMethod.POST, new HttpEntity<>(answer, ownerHeaders),
+				ItemDto.class);
+
+		ResponseEntity<ItemRequestDto> answeredResponse = restTemplate.exchange(requestUrl, HttpMethod.GET,
+				new HttpEntity<>(headers), ItemRequestDto.class);
+		assertEquals(200, answeredResponse.getStatusCode().value());
+		assertNotNull(answeredResponse.getBody());
+		assertEquals(1, answeredResponse.getBody().getItems().size());
+		assertNotEquals(etag, answeredResponse.getHeaders().getETag());
+	}
+
+	@Test
+	void getRequest_shouldAnswerOkWhenAnsweringItemOwnerIsDeleted() {
+		UserDto requestor = createUser();
+		UserDto owner = createUser();
+		NewItemRequest newRequest = new NewItemRequest();
+		newRequest.setDescription("Need a wheelbarrow");
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Sharer-User-Id", String.valueOf(requestor.getId()));
+		ItemRequestDto request = restTemplate.exchange(shareitServerUrl + "/requests", HttpMethod.POST,
+				new HttpEntity<>(newRequest, headers), ItemRequestDto.class).getBody();
+		assertNotNull(request);
+		String requestUrl = shareitServerUrl + "/requests/" + request.getId();
+		String unansweredEtag = restTemplate.exchange(requestUrl, HttpMethod.GET, new HttpEntity<>(headers),
+				ItemRequestDto.class).getHeaders().getETag();
+
+		HttpHeaders ownerHeaders = new HttpHeaders();
+		ownerHeaders.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+		ru.practicum.shareit.item.dto.NewItemRequest answer = ru.practicum.shareit.item.dto.NewItemRequest.builder()
+				.name("Wheelbarrow").description("One wheel").available(true).requestId(request.getId()).build();
+		restTemplate.exchange(shareitServerUrl + "/items", HttpMethod.POST, new HttpEntity<>(answer, ownerHeaders),
+				ItemDto.class);
+		String answeredEtag = restTemplate.exchange(requestUrl, HttpMethod.GET, new HttpEntity<>(headers),
+				ItemRequestDto.class).getHeaders().getETag();
+
+		restTemplate.delete(shareitServerUrl + "/users/" + owner.getId());
+
+		for (String etag : List.of(unansweredEtag, answeredEtag)) {
+			headers.setIfNoneMatch(etag);
+			ResponseEntity<ItemRequestDto> response = restTemplate.exchange(requestUrl, HttpMethod.GET,
+					new HttpEntity<>(headers), ItemRequestDto.class);
+			assertEquals(200, response.getStatusCode().value());
+			assertNotNull(response.getBody());
+			assertThat(response.getBody().getItems()).isNullOrEmpty();
+			assertNotEquals(etag, response.getHeaders().getETag());
+		}
+	}
+
 	private UserDto createUser() {
 		String name = "Some Name";
 		String email = RandomUtils.getRandomEmail();
@@ -0,0 +1,267 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.UnacceptableValueException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.NewUserRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Slf4j
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTest {
+    private static final DateTimeFormatter dateTimeFormatter =
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final int ITEMS = 4;
+    private static final int OPERATIONS_PER_THREAD = 30;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void approveBooking_shouldApproveOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        int threads = 8;
+        long ownerId = createUser();
+        long itemId = createItem(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            bookingIds.add(addBooking(createUser(), itemId, start.plusHours(i), start.plusDays(1).plusHours(i)).getId());
+        }
+
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            tasks.add(() -> {
+                try {
+                    bookingService.approveBooking(ownerId, bookingId, true);
+                    approved.incrementAndGet();
+                } catch (UnacceptableValueException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runConcurrently(threads, tasks);
+
+        assertEquals(1, approved.get());
+        assertEquals(threads - 1, conflicts.get());
+        assertNoOverlappingApprovedBookings(List.of(itemId));
+    }
+
+    @Test
+    void addBooking_shouldKeepEveryConcurrentOverlappingBookingWaiting() throws Exception {
+        int threads = 8;
+        long ownerId = createUser();
+        long itemId = createItem(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            bookerIds.add(createUser());
+        }
+        List<Long> bookingIds = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long bookerId : bookerIds) {
+            tasks.add(() -> {
+                BookingDto booking = addBooking(bookerId, itemId, start, start.plusDays(1));
+                assertEquals(BookingState.WAITING, booking.getStatus());
+                bookingIds.add(booking.getId());
+                return null;
+            });
+        }
+        runConcurrently(threads, tasks);
+
+        assertEquals(threads, new HashSet<>(bookingIds).size());
+        assertEquals(1, approveAll(ownerId, bookingIds));
+        assertNoOverlappingApprovedBookings(List.of(itemId));
+    }
+
+    @Test
+    void addBooking_shouldNotDoubleBookWhileOverlappingBookingIsApproved() throws Exception {
+        int threads = 8;
+        long ownerId = createUser();
+        long itemId = createItem(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        long approvedBookingId = addBooking(createUser(), itemId, start, start.plusDays(2)).getId();
+
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            bookerIds.add(createUser());
+        }
+        List<Long> createdBookingIds = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            bookingService.approveBooking(ownerId, approvedBookingId, true);
+            return null;
+        });
+        for (int i = 0; i < bookerIds.size(); i++) {
+            long bookerId = bookerIds.get(i);
+            LocalDateTime bookingStart = start.plusHours(i);
+            tasks.add(() -> {
+                try {
+                    createdBookingIds.add(addBooking(bookerId, itemId, bookingStart, bookingStart.plusDays(1)).getId());
+                } catch (UnacceptableValueException e) {
+                    log.trace("Booking rejected after approval: {}", e.getMessage());
+                }
+                return null;
+            });
+        }
+        runConcurrently(threads, tasks);
+
+        assertEquals(0, approveAll(ownerId, createdBookingIds));
+        assertNoOverlappingApprovedBookings(List.of(itemId));
+    }
+
+    @Test
+    void addAndApproveBooking_shouldNeverDoubleBookUnderContention() throws Exception {
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            long ownerId = createUser();
+            List<Long> itemIds = new ArrayList<>();
+            for (int i = 0; i < ITEMS; i++) {
+                itemIds.add(createItem(ownerId));
+            }
+            List<Long> bookerIds = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                bookerIds.add(createUser());
+            }
+
+            AtomicInteger approved = new AtomicInteger();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Long bookerId : bookerIds) {
+                tasks.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        long itemId = itemIds.get(random.nextInt(itemIds.size()));
+                        LocalDateTime start = base.plusHours(random.nextInt(24 * 30));
+                        LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+                        try {
+                            BookingDto booking = addBooking(bookerId, itemId, start, end);
+                            bookingService.approveBooking(ownerId, booking.getId(), true);
+                            approved.incrementAndGet();
+                        } catch (UnacceptableValueException e) {
+                            log.trace("Booking conflict for item {}: {}", itemId, e.getMessage());
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            long startedAt = System.nanoTime();
+            runConcurrently(threads, tasks);
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+            log.info("Booking contention: threads={}, attempts={}, approved={}, bookings/sec={}", threads,
+                    threads * OPERATIONS_PER_THREAD, approved.get(),
+                    String.format("%.1f", threads * OPERATIONS_PER_THREAD / seconds));
+            assertNoOverlappingApprovedBookings(itemIds);
+        }
+    }
+
+    private int approveAll(long ownerId, List<Long> bookingIds) throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            tasks.add(() -> {
+                try {
+                    bookingService.approveBooking(ownerId, bookingId, true);
+                    approved.incrementAndGet();
+                } catch (UnacceptableValueException e) {
+                    log.trace("Booking {} not approved: {}", bookingId, e.getMessage());
+                }
+                return null;
+            });
+        }
+        runConcurrently(Math.max(bookingIds.size(), 1), tasks);
+        return approved.get();
+    }
+
+    private void runConcurrently(int threads, List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    return task.call();
+                }));
+            }
+            ready.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void assertNoOverlappingApprovedBookings(List<Long> itemIds) {
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getState() == BookingState.APPROVED)
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .toList();
+        for (Booking first : approved) {
+            for (Booking second : approved) {
+                boolean overlap = !first.getId().equals(second.getId())
+                        && first.getItem().getId() == second.getItem().getId()
+                        && first.getStartTime().isBefore(second.getEndTime())
+                        && second.getStartTime().isBefore(first.getEndTime());
+                assertFalse(overlap, String.format("Bookings %d and %d overlap", first.getId(), second.getId()));
+            }
+        }
+    }
+
+    private BookingDto addBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.addBooking(bookerId, new NewBookingRequest(itemId,
+                dateTimeFormatter.format(start), dateTimeFormatter.format(end)));
+    }
+
+    private long createUser() {
+        return userService.saveUser(NewUserRequest.builder()
+                .name("Some Name")
+                .email(RandomUtils.getRandomEmail())
+                .build()).getId();
+    }
+
+    private long createItem(long ownerId) {
+        return itemService.addItem(ownerId, NewItemRequest.builder()
+                .name("Some item")
+                .description("Some description")
+                .available(true)
+                .build()).getId();
+    }
+}
@@ -178,7 +178,7 @@ public class BookingControllerTest {
 
         BookingDto bookingDto = new BookingDto(bookingId, itemDto, bookerDto, state, start, end);
 
-        when(bookingService.getAllBookingByOwner(userId, filter))
+        when(bookingService.getAllBookingByOwner(userId, filter, 0, 10))
                 .thenReturn(List.of(bookingDto));
 
         MvcResult mvcResult =
@@ -199,7 +199,7 @@ public class BookingControllerTest {
         assertNotNull(actualBookingDto);
         assertThat(actualBookingDto).usingRecursiveComparison().isEqualTo(bookingDto);
 
-        verify(bookingService).getAllBookingByOwner(userId, filter);
+        verify(bookingService).getAllBookingByOwner(userId, filter, 0, 10);
     }
 
     @Test
@@ -217,7 +217,7 @@ public class BookingControllerTest {
 
         BookingDto bookingDto = new BookingDto(bookingId, itemDto, bookerDto, state, start, end);
 
-        when(bookingService.getAllBookingsByUser(userId, filter))
+        when(bookingService.getAllBookingsByUser(userId, filter, 0, 10))
                 .thenReturn(List.of(bookingDto));
 
         MvcResult mvcResult =
@@ -238,7 +238,7 @@ public class BookingControllerTest {
         assertNotNull(actualBookingDto);
         assertThat(actualBookingDto).usingRecursiveComparison().isEqualTo(bookingDto);
 
-        verify(bookingService).getAllBookingsByUser(userId, filter);
+        verify(bookingService).getAllBookingsByUser(userId, filter, 0, 10);
     }
 
     @Test
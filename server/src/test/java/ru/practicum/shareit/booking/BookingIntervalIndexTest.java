@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    @Mock private BookingRepository bookingRepositoryMock;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+    private Item item;
+    private User booker;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepositoryMock, 100, Duration.ofSeconds(30),
+                new SimpleMeterRegistry());
+        User owner = new User(1L, "Owner", RandomUtils.getRandomEmail());
+        booker = new User(2L, "Booker", RandomUtils.getRandomEmail());
+        item = new Item(12L, owner, "Some item", "Some description", true, null, null, null);
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void isOverlapping_shouldLoadColdItemOnceFromRepository() {
+        Booking booking = new Booking(1L, item, booker, BookingState.APPROVED, base, base.plusDays(2));
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+
+        assertTrue(bookingIntervalIndex.isOverlapping(item, base.plusDays(1), base.plusDays(3)));
+        assertFalse(bookingIntervalIndex.isOverlapping(item, base.plusDays(2), base.plusDays(3)));
+        assertFalse(bookingIntervalIndex.isOverlapping(item, base.minusDays(1), base));
+
+        verify(bookingRepositoryMock, times(1)).findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void isOverlapping_shouldDetectPeriodContainingBooking() {
+        Booking booking = new Booking(1L, item, booker, BookingState.APPROVED, base.plusDays(1), base.plusDays(2));
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+
+        assertTrue(bookingIntervalIndex.isOverlapping(item, base, base.plusDays(3)));
+        assertTrue(bookingIntervalIndex.isOverlapping(item, base.plusDays(1), base.plusDays(2)));
+    }
+
+    @Test
+    void add_shouldMergeOverlappingPeriods() {
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        bookingIntervalIndex.add(item, base, base.plusDays(2));
+        bookingIntervalIndex.add(item, base.plusDays(4), base.plusDays(5));
+        bookingIntervalIndex.add(item, base.plusDays(1), base.plusDays(4));
+
+        assertTrue(bookingIntervalIndex.isOverlapping(item, base.plusHours(60), base.plusHours(61)));
+        assertTrue(bookingIntervalIndex.isOverlapping(item, base.plusHours(119), base.plusDays(6)));
+        assertFalse(bookingIntervalIndex.isOverlapping(item, base.plusDays(5), base.plusDays(6)));
+
+        verify(bookingRepositoryMock, times(1)).findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void evict_shouldReloadItemFromRepository() {
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        assertFalse(bookingIntervalIndex.isOverlapping(item, base, base.plusDays(1)));
+        bookingIntervalIndex.evict(item.getId());
+        assertFalse(bookingIntervalIndex.isOverlapping(item, base, base.plusDays(1)));
+
+        verify(bookingRepositoryMock, times(2)).findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void isOverlapping_shouldReloadExpiredItemFromRepository() {
+        BookingIntervalIndex expiringIndex = new BookingIntervalIndex(bookingRepositoryMock, 100, Duration.ZERO,
+                new SimpleMeterRegistry());
+        Booking booking = new Booking(1L, item, booker, BookingState.APPROVED, base, base.plusDays(2));
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(booking));
+
+        assertFalse(expiringIndex.isOverlapping(item, base, base.plusDays(1)));
+        assertTrue(expiringIndex.isOverlapping(item, base, base.plusDays(1)));
+
+        verify(bookingRepositoryMock, times(2)).findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class));
+    }
+}
@@ -1,20 +1,29 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +40,8 @@ public class BookingRepositoryTest {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Test
     void save_shouldReturnSavedBooking() {
@@ -111,7 +122,8 @@ public class BookingRepositoryTest {
         assertTrue(savedBooking2.getId() > 0);
         bookingId2 = savedBooking2.getId();
 
-        List<Booking> findedBookings = bookingRepository.findPastBookingsByOwner(owner.getId(), LocalDateTime.now());
+        List<Booking> findedBookings = bookingRepository.findPastBookingsByOwner(owner.getId(), LocalDateTime.now(),
+                Pageable.unpaged());
         assertThat(!findedBookings.isEmpty());
         assertThat(findedBookings.size() == 2);
         Booking findedBooking1 = findedBookings.get(0);
@@ -167,7 +179,7 @@ public class BookingRepositoryTest {
         assertNotNull(savedBooking3);
         assertTrue(savedBooking3.getId() > 0);
 
-        List<Booking> findedBookings = bookingRepository.findAllByOwnerWithState(owner.getId(), state);
+        List<Booking> findedBookings = bookingRepository.findAllByOwnerWithState(owner.getId(), state, Pageable.unpaged());
         assertThat(!findedBookings.isEmpty());
         assertThat(findedBookings.size() == 2);
         Booking findedBooking1 = findedBookings.get(0);
@@ -221,12 +233,12 @@ public class BookingRepositoryTest {
         assertTrue(savedBooking2.getId() > 0);
         bookingId2 = savedBooking2.getId();
 
-        Booking savedBooking3 = bookingRepository.save(booking2);
+        Booking savedBooking3 = bookingRepository.save(booking3);
         assertNotNull(savedBooking3);
         assertTrue(savedBooking3.getId() > 0);
 
-        List<Booking> findedBookings = bookingRepository.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDesc(
-                user.getId(), LocalDateTime.now(), LocalDateTime.now());
+        List<Booking> findedBookings = bookingRepository.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDescIdDesc(
+                user.getId(), LocalDateTime.now(), LocalDateTime.now(), Pageable.unpaged());
         assertThat(!findedBookings.isEmpty());
         assertThat(findedBookings.size() == 1);
         Booking findedBooking = findedBookings.get(0);
@@ -234,4 +246,127 @@ public class BookingRepositoryTest {
         //expected only booking2
         assertThat(findedBooking).usingRecursiveComparison().isEqualTo(savedBooking2);
     }
+
+    @Test
+    void approveWaitingBooking_shouldApproveOnlyOwnersWaitingBookingWithoutOverlap() {
+        String name = "Some Name";
+        User owner = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        User user = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0L, owner, name, "Some description", true, null, null, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS);
+
+        Booking first = bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING, start, start.plusDays(2)));
+        Booking overlapping = bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING,
+                start.plusDays(1), start.plusDays(3)));
+        Booking adjacent = bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING,
+                start.plusDays(2), start.plusDays(4)));
+
+        assertEquals(0, bookingRepository.approveWaitingBooking(first.getId(), user.getId()));
+        assertEquals(1, bookingRepository.approveWaitingBooking(first.getId(), owner.getId()));
+        assertEquals(0, bookingRepository.approveWaitingBooking(first.getId(), owner.getId()));
+        assertEquals(0, bookingRepository.approveWaitingBooking(overlapping.getId(), owner.getId()));
+        assertEquals(1, bookingRepository.approveWaitingBooking(adjacent.getId(), owner.getId()));
+        assertEquals(1, bookingRepository.rejectWaitingBooking(overlapping.getId(), owner.getId()));
+
+        assertEquals(BookingState.APPROVED, bookingRepository.findById(first.getId()).get().getState());
+        assertEquals(BookingState.REJECTED, bookingRepository.findById(overlapping.getId()).get().getState());
+        assertEquals(BookingState.APPROVED, bookingRepository.findById(adjacent.getId()).get().getState());
+        assertEquals(item.getId(), itemRepository.findByBookingIdForUpdate(first.getId()).get().getId());
+    }
+
+    @Test
+    void findAllByItemOwnerId_shouldReturnRequestedPageInStableOrder() {
+        String name = "Some Name";
+        User owner = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        User user = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0L, owner, name, "Some description", true, null, null, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS);
+
+        Booking booking1 = bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING, start, start.plusDays(1)));
+        Booking booking2 = bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING, start, start.plusDays(1)));
+        Booking booking3 = bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING,
+                start.plusDays(3), start.plusDays(4)));
+
+        List<Booking> firstPage = bookingRepository.findAllByItemOwnerIdOrderByStartTimeDescIdDesc(owner.getId(),
+                OffsetPageRequest.of(0, 2));
+        List<Booking> secondPage = bookingRepository.findAllByItemOwnerIdOrderByStartTimeDescIdDesc(owner.getId(),
+                OffsetPageRequest.of(2, 2));
+
+        //expected order booking3, booking2, booking1
+        assertEquals(List.of(booking3.getId(), booking2.getId()), firstPage.stream().map(Booking::getId).toList());
+        assertEquals(List.of(booking1.getId()), secondPage.stream().map(Booking::getId).toList());
+    }
+
+    @Test
+    void bookingLists_shouldLoadBookingsWithItemsOwnersAndBookersInOneStatement() {
+        String name = "Some Name";
+        User owner = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        User user = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        LocalDateTime start = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 5; i++) {
+            Item item = itemRepository.save(new Item(0L, owner, name + i, "Some description", true, null, null, null));
+            bookingRepository.save(new Booking(0L, item, user, BookingState.WAITING, start.plusDays(i), start.plusDays(i + 1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<BookingDto> ownerBookings = bookingRepository.findAllByOwnerWithState(owner.getId(), BookingState.WAITING,
+                        OffsetPageRequest.of(0, 10)).stream()
+                .map(BookingMapper::mapToBookingDto)
+                .toList();
+        assertEquals(5, ownerBookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        statistics.clear();
+        List<BookingDto> userBookings = bookingRepository.findAllByUserIdOrderByStartTimeDescIdDesc(user.getId(),
+                        OffsetPageRequest.of(0, 10)).stream()
+                .map(BookingMapper::mapToBookingDto)
+                .toList();
+        assertEquals(5, userBookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void existsByUserIdAndItemIdAndStateAndEndTimeBefore_shouldFindOnlyCompletedApprovedBookings() {
+        String name = "Some Name";
+        User owner = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        User user = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        User otherUser = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0L, owner, name, "Some description", true, null, null, null));
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, item, user, BookingState.APPROVED, now.minusDays(3), now.minusDays(2)));
+        bookingRepository.save(new Booking(null, item, otherUser, BookingState.WAITING, now.minusDays(3), now.minusDays(2)));
+        bookingRepository.save(new Booking(null, item, otherUser, BookingState.APPROVED, now.minusDays(1), now.plusDays(1)));
+
+        assertTrue(bookingRepository.existsByUserIdAndItemIdAndStateAndEndTimeBefore(user.getId(), item.getId(),
+                BookingState.APPROVED, now));
+        assertFalse(bookingRepository.existsByUserIdAndItemIdAndStateAndEndTimeBefore(otherUser.getId(), item.getId(),
+                BookingState.APPROVED, now));
+    }
+
+    @Test
+    void saveAll_shouldInsertBookingsInJdbcBatches() {
+        String name = "Some Name";
+        User owner = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        User user = userRepository.save(new User(0L, name, RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0L, owner, name, "Some description", true, null, null, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bookings.add(new Booking(null, item, user, BookingState.WAITING, start.plusDays(i), start.plusDays(i + 1)));
+        }
+        entityManager.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 20);
+        assertEquals(20, bookings.stream().map(Booking::getId).distinct().count());
+    }
 }
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.UnacceptableValueException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.*;
@@ -16,6 +21,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -35,6 +41,7 @@ public class BookingServiceTest {
     @Mock private ItemRepository itemRepositoryMock;
     @Mock private UserRepository userRepositoryMock;
     @Mock private BookingRepository bookingRepositoryMock;
+    @Mock private ItemBookingSummaryTracker itemBookingSummaryTrackerMock;
 
     @Mock
     private BookingMapper itemMapper;
@@ -43,7 +50,10 @@ public class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(userRepositoryMock, itemRepositoryMock, bookingRepositoryMock);
+        bookingService = new BookingServiceImpl(userRepositoryMock, itemRepositoryMock, bookingRepositoryMock,
+                new BookingIntervalIndex(bookingRepositoryMock, 100, Duration.ofSeconds(30),
+                        new SimpleMeterRegistry()), itemBookingSummaryTrackerMock,
+                new NoApprovalLock());
     }
 
     @Test
@@ -106,6 +116,21 @@ public class BookingServiceTest {
         verify(bookingRepositoryMock).findById(anyLong());
     }
 
+    @Test
+    void getAllBookingsByUser_shouldThrowForInvalidPage() {
+        User user = new User(2L, "Some Name", RandomUtils.getRandomEmail());
+
+        when(userRepositoryMock.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.getAllBookingsByUser(user.getId(), BookingStateFilter.ALL, -1, 10));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getAllBookingsByUser(user.getId(), BookingStateFilter.ALL, 0, 0));
+
+        verifyNoInteractions(bookingRepositoryMock);
+    }
+
     @Test
     void getAllBookingsByUser_shouldReturnListOfBookingsInStateCurrent() {
         String name = "Some Name";
@@ -127,11 +152,11 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDesc(anyLong(),
-                        any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(bookingRepositoryMock.findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDescIdDesc(anyLong(),
+                        any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-         Collection<BookingDto> currentBookings = bookingService.getAllBookingsByUser(user.getId(), filter);
+         Collection<BookingDto> currentBookings = bookingService.getAllBookingsByUser(user.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -146,8 +171,8 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDesc(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).findAllByUserIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTimeDescIdDesc(anyLong(),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -172,10 +197,10 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findAllByUserIdAndStateOrderByStartTimeDesc(anyLong(), any(BookingState.class)))
+        when(bookingRepositoryMock.findAllByUserIdAndStateOrderByStartTimeDescIdDesc(anyLong(), any(BookingState.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        Collection<BookingDto> currentBookings = bookingService.getAllBookingsByUser(user.getId(), filter);
+        Collection<BookingDto> currentBookings = bookingService.getAllBookingsByUser(user.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -190,7 +215,7 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findAllByUserIdAndStateOrderByStartTimeDesc(anyLong(), any(BookingState.class));
+        verify(bookingRepositoryMock).findAllByUserIdAndStateOrderByStartTimeDescIdDesc(anyLong(), any(BookingState.class), any(Pageable.class));
     }
 
     @Test
@@ -215,10 +240,10 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findAllByUserIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), any(LocalDateTime.class)))
+        when(bookingRepositoryMock.findAllByUserIdAndEndTimeBeforeOrderByStartTimeDescIdDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        Collection<BookingDto> currentBookings = bookingService.getAllBookingsByUser(user.getId(), filter);
+        Collection<BookingDto> currentBookings = bookingService.getAllBookingsByUser(user.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -233,7 +258,7 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findAllByUserIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).findAllByUserIdAndEndTimeBeforeOrderByStartTimeDescIdDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
 
@@ -258,10 +283,10 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findPastBookingsByOwner(anyLong(), any(LocalDateTime.class)))
+        when(bookingRepositoryMock.findPastBookingsByOwner(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter);
+        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -276,7 +301,7 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findPastBookingsByOwner(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).findPastBookingsByOwner(anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -300,10 +325,10 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findFutureBookingsByOwner(anyLong(), any(LocalDateTime.class)))
+        when(bookingRepositoryMock.findFutureBookingsByOwner(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter);
+        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -318,7 +343,7 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findFutureBookingsByOwner(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).findFutureBookingsByOwner(anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -342,10 +367,10 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findAllByOwnerWithState(anyLong(), any(BookingState.class)))
+        when(bookingRepositoryMock.findAllByOwnerWithState(anyLong(), any(BookingState.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter);
+        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -360,7 +385,7 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findAllByOwnerWithState(anyLong(), any(BookingState.class));
+        verify(bookingRepositoryMock).findAllByOwnerWithState(anyLong(), any(BookingState.class), any(Pageable.class));
     }
 
     @Test
@@ -384,10 +409,10 @@ public class BookingServiceTest {
         when(userRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(user));
 
-        when(bookingRepositoryMock.findCurrentBookingsByOwner(anyLong(), any(LocalDateTime.class)))
+        when(bookingRepositoryMock.findCurrentBookingsByOwner(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter);
+        Collection<BookingDto> currentBookings = bookingService.getAllBookingByOwner(owner.getId(), filter, 0, 10);
 
         assertNotNull(currentBookings);
         assertEquals(1, currentBookings.size());
@@ -402,7 +427,7 @@ public class BookingServiceTest {
         assertEquals(booking.getState(), currentBooking.getStatus());
 
         verify(userRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findCurrentBookingsByOwner(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).findCurrentBookingsByOwner(anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
 
@@ -480,7 +505,7 @@ public class BookingServiceTest {
         when(itemRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        assertThrows(RuntimeException.class, () -> bookingService.addBooking(user.getId(), newBookingRequest));
+        assertThrows(ValidationException.class, () -> bookingService.addBooking(user.getId(), newBookingRequest));
 
         verify(userRepositoryMock).findById(anyLong());
         verify(itemRepositoryMock).findById(anyLong());
@@ -488,6 +513,70 @@ public class BookingServiceTest {
         verify(bookingRepositoryMock, never()).save(any(Booking.class));
     }
 
+    @Test
+    void addBookings_shouldSaveValidSlotsAndReportRejectedOnes() {
+        String name = "Some Name";
+        String description = "Some description";
+        User owner = new User(1L, name, RandomUtils.getRandomEmail());
+        User user = new User(2L, name, RandomUtils.getRandomEmail());
+        Item item1 = new Item(12L, owner, name, description, true, null, null, null);
+        Item item2 = new Item(13L, owner, name, description, true, null, null, null);
+        LocalDateTime startDate = LocalDateTime.now().plusDays(2);
+        String start = dateTimeFormatter.format(startDate);
+        String end = dateTimeFormatter.format(startDate.plusDays(3));
+        List<NewBookingRequest> newBookingRequests = List.of(
+                new NewBookingRequest(item1.getId(), start, end),
+                new NewBookingRequest(item1.getId(), dateTimeFormatter.format(startDate.plusDays(1)),
+                        dateTimeFormatter.format(startDate.plusDays(5))),
+                new NewBookingRequest(99L, start, end),
+                new NewBookingRequest(item2.getId(), start, end),
+                new NewBookingRequest(item2.getId(), end, start));
+
+        when(userRepositoryMock.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemRepositoryMock.findAllById(anyCollection()))
+                .thenReturn(List.of(item1, item2));
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(bookingRepositoryMock.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Booking> bookings = invocation.getArgument(0);
+                    long id = 100L;
+                    for (Booking booking : bookings) {
+                        booking.setId(id++);
+                    }
+                    return bookings;
+                });
+
+        List<BookingBatchResultDto> results = bookingService.addBookings(user.getId(), newBookingRequests);
+
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertEquals(100L, results.get(0).getBooking().getId());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getBooking());
+        assertNotNull(results.get(1).getError());
+        assertNull(results.get(2).getBooking());
+        assertNotNull(results.get(2).getError());
+        assertEquals(101L, results.get(3).getBooking().getId());
+        assertEquals(item2.getId(), results.get(3).getBooking().getItem().getId());
+        assertNull(results.get(4).getBooking());
+        assertNotNull(results.get(4).getError());
+
+        verify(itemRepositoryMock, never()).findById(anyLong());
+        verify(bookingRepositoryMock).saveAll(argThat(bookings -> ((Collection<Booking>) bookings).size() == 2));
+        verify(bookingRepositoryMock, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void addBookings_shouldThrowExceptionForEmptyBatch() {
+        assertThrows(ValidationException.class, () -> bookingService.addBookings(2L, List.of()));
+
+        verify(bookingRepositoryMock, never()).saveAll(anyList());
+    }
+
     @Test
     void addBooking_shouldThrowExceptionPeriodFullOverlapWithOtherBooking() {
         String name = "Some Name";
@@ -660,18 +749,16 @@ public class BookingServiceTest {
         LocalDateTime endDate = LocalDateTime.now().plusDays(5);
         String start = dateTimeFormatter.format(startDate);
         String end = dateTimeFormatter.format(endDate);
-        BookingState state = BookingState.WAITING;
         boolean approved = true;
 
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
-        NewBookingRequest newBookingRequest = new NewBookingRequest(itemId, start, end);
-        Booking booking = new Booking(bookingId, item, user, state, startDate, endDate);
+        Booking booking = new Booking(bookingId, item, user, BookingState.APPROVED, startDate, endDate);
 
-        when(bookingRepositoryMock.findById(anyLong()))
-                .thenReturn(Optional.of(booking));
+        when(bookingRepositoryMock.approveWaitingBooking(bookingId, owner.getId()))
+                .thenReturn(1);
 
-        when(bookingRepositoryMock.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepositoryMock.findWithDetailsById(anyLong()))
+                .thenReturn(Optional.of(booking));
 
         BookingDto savedBooking = bookingService.approveBooking(owner.getId(), bookingId, approved);
 
@@ -684,8 +771,23 @@ public class BookingServiceTest {
         assertEquals(end, savedBooking.getEnd());
         assertEquals(BookingState.APPROVED, savedBooking.getStatus());
 
-        verify(bookingRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).save(any(Booking.class));
+        verify(itemRepositoryMock, never()).findByBookingIdForUpdate(anyLong());
+        verify(bookingRepositoryMock).approveWaitingBooking(bookingId, owner.getId());
+        verify(bookingRepositoryMock, never()).findById(anyLong());
+        verify(itemBookingSummaryTrackerMock).onApproved(booking);
+    }
+
+    @Test
+    void approveBooking_shouldThrowWhenBookingNotFound() {
+        when(bookingRepositoryMock.approveWaitingBooking(anyLong(), anyLong()))
+                .thenReturn(0);
+
+        when(bookingRepositoryMock.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.approveBooking(1L, 15L, true));
+
+        verifyNoInteractions(itemBookingSummaryTrackerMock);
     }
 
     @Test
@@ -699,22 +801,22 @@ public class BookingServiceTest {
         User user = new User(2L, name, RandomUtils.getRandomEmail());
         LocalDateTime startDate = LocalDateTime.now().plusDays(2);
         LocalDateTime endDate = LocalDateTime.now().plusDays(5);
-        String start = dateTimeFormatter.format(startDate);
-        String end = dateTimeFormatter.format(endDate);
         BookingState state = BookingState.WAITING;
         boolean approved = true;
 
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
-        NewBookingRequest newBookingRequest = new NewBookingRequest(itemId, start, end);
         Booking booking = new Booking(bookingId, item, user, state, startDate, endDate);
 
+        when(bookingRepositoryMock.approveWaitingBooking(anyLong(), anyLong()))
+                .thenReturn(0);
+
         when(bookingRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
         assertThrows(UnacceptableValueException.class, () -> bookingService.approveBooking(user.getId(), bookingId, approved));
 
         verify(bookingRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock, never()).save(any(Booking.class));
+        verifyNoInteractions(itemBookingSummaryTrackerMock);
     }
 
     @Test
@@ -728,22 +830,22 @@ public class BookingServiceTest {
         User user = new User(2L, name, RandomUtils.getRandomEmail());
         LocalDateTime startDate = LocalDateTime.now().plusDays(2);
         LocalDateTime endDate = LocalDateTime.now().plusDays(5);
-        String start = dateTimeFormatter.format(startDate);
-        String end = dateTimeFormatter.format(endDate);
         BookingState state = BookingState.CANCELED;
         boolean approved = true;
 
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
-        NewBookingRequest newBookingRequest = new NewBookingRequest(itemId, start, end);
         Booking booking = new Booking(bookingId, item, user, state, startDate, endDate);
 
+        when(bookingRepositoryMock.approveWaitingBooking(anyLong(), anyLong()))
+                .thenReturn(0);
+
         when(bookingRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
         assertThrows(ValidationException.class, () -> bookingService.approveBooking(owner.getId(), bookingId, approved));
 
         verify(bookingRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock, never()).save(any(Booking.class));
+        verifyNoInteractions(itemBookingSummaryTrackerMock);
     }
 
     @Test
@@ -759,18 +861,16 @@ public class BookingServiceTest {
         LocalDateTime endDate = LocalDateTime.now().plusDays(5);
         String start = dateTimeFormatter.format(startDate);
         String end = dateTimeFormatter.format(endDate);
-        BookingState state = BookingState.WAITING;
         boolean approved = false;
 
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
-        NewBookingRequest newBookingRequest = new NewBookingRequest(itemId, start, end);
-        Booking booking = new Booking(bookingId, item, user, state, startDate, endDate);
+        Booking booking = new Booking(bookingId, item, user, BookingState.REJECTED, startDate, endDate);
 
-        when(bookingRepositoryMock.findById(anyLong()))
-                .thenReturn(Optional.of(booking));
+        when(bookingRepositoryMock.rejectWaitingBooking(bookingId, owner.getId()))
+                .thenReturn(1);
 
-        when(bookingRepositoryMock.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepositoryMock.findWithDetailsById(anyLong()))
+                .thenReturn(Optional.of(booking));
 
         BookingDto savedBooking = bookingService.approveBooking(owner.getId(), bookingId, approved);
 
@@ -783,7 +883,43 @@ public class BookingServiceTest {
         assertEquals(end, savedBooking.getEnd());
         assertEquals(BookingState.REJECTED, savedBooking.getStatus());
 
-        verify(bookingRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).save(any(Booking.class));
+        verify(bookingRepositoryMock).rejectWaitingBooking(bookingId, owner.getId());
+        verify(itemRepositoryMock, never()).findByBookingIdForUpdate(anyLong());
+        verifyNoInteractions(itemBookingSummaryTrackerMock);
+    }
+
+    @Test
+    void approveBooking_shouldThrowWhenApprovedBookingOverlaps() {
+        long itemId = 12L;
+        long bookingId = 15L;
+        User owner = new User(1L, "Some Name", RandomUtils.getRandomEmail());
+        User user = new User(2L, "Some Name", RandomUtils.getRandomEmail());
+        LocalDateTime startDate = LocalDateTime.now().plusDays(2);
+        LocalDateTime endDate = LocalDateTime.now().plusDays(5);
+
+        Item item = new Item(itemId, owner, "Some Name", "Some description", true, null, null, null);
+        Booking booking = new Booking(bookingId, item, user, BookingState.WAITING, startDate, endDate);
+
+        when(bookingRepositoryMock.approveWaitingBooking(anyLong(), anyLong()))
+                .thenReturn(0);
+
+        when(bookingRepositoryMock.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        assertThrows(UnacceptableValueException.class, () -> bookingService.approveBooking(owner.getId(), bookingId, true));
+
+        verify(bookingRepositoryMock, never()).findWithDetailsById(anyLong());
+        verifyNoInteractions(itemBookingSummaryTrackerMock);
+    }
+
+    @Test
+    void approveBooking_shouldMapOverlapConstraintViolationToUnacceptableValue() {
+        User owner = new User(1L, "Some Name", RandomUtils.getRandomEmail());
+
+        when(bookingRepositoryMock.approveWaitingBooking(anyLong(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("conflicting key value violates exclusion constraint " +
+                        "\"bookings_approved_no_overlap\""));
+
+        assertThrows(UnacceptableValueException.class, () -> bookingService.approveBooking(owner.getId(), 15L, true));
     }
 }
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemBookingSummaryTrackerTest {
+    @Mock private ItemBookingSummaryRepository summaryRepositoryMock;
+    @Mock private BookingRepository bookingRepositoryMock;
+    @Mock private ItemRepository itemRepositoryMock;
+    @Mock private TransactionTemplate transactionTemplateMock;
+
+    private ItemBookingSummaryTracker tracker;
+    private Item item;
+    private User booker;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ItemBookingSummaryTracker(summaryRepositoryMock, bookingRepositoryMock, itemRepositoryMock,
+                transactionTemplateMock);
+        User owner = new User(1L, "Owner", RandomUtils.getRandomEmail());
+        booker = new User(2L, "Booker", RandomUtils.getRandomEmail());
+        item = new Item(12L, owner, "Some item", "Some description", true, null, null, null);
+        base = LocalDateTime.now();
+    }
+
+    @Test
+    void onApproved_shouldReplaceNextBookingWithEarlierOne() {
+        Booking next = new Booking(1L, item, booker, BookingState.APPROVED, base.plusDays(5), base.plusDays(6));
+        Booking earlier = new Booking(2L, item, booker, BookingState.APPROVED, base.plusDays(2), base.plusDays(3));
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId(), null, next, next.getStartTime());
+        when(summaryRepositoryMock.findByItemIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(summary));
+
+        tracker.onApproved(earlier);
+
+        assertEquals(earlier, summary.getNextBooking());
+        assertEquals(earlier.getStartTime(), summary.getNextStartTime());
+        verifyNoInteractions(bookingRepositoryMock);
+    }
+
+    @Test
+    void onApproved_shouldKeepNextBookingWhenApprovedBookingIsLater() {
+        Booking next = new Booking(1L, item, booker, BookingState.APPROVED, base.plusDays(2), base.plusDays(3));
+        Booking later = new Booking(2L, item, booker, BookingState.APPROVED, base.plusDays(5), base.plusDays(6));
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId(), null, next, next.getStartTime());
+        when(summaryRepositoryMock.findByItemIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(summary));
+
+        tracker.onApproved(later);
+
+        assertEquals(next, summary.getNextBooking());
+        assertNull(summary.getLastBooking());
+    }
+
+    @Test
+    void onApproved_shouldLeaveMissingSummaryToBackfill() {
+        Booking booking = new Booking(1L, item, booker, BookingState.APPROVED, base.plusDays(2), base.plusDays(3));
+        when(summaryRepositoryMock.findByItemIdForUpdate(anyLong()))
+                .thenReturn(Optional.empty());
+
+        tracker.onApproved(booking);
+
+        verify(summaryRepositoryMock, never()).save(any(ItemBookingSummary.class));
+        verifyNoInteractions(bookingRepositoryMock);
+    }
+
+    @Test
+    void getSummaries_shouldRecomputeSummaryWhoseNextBookingHasStarted() {
+        Booking started = new Booking(1L, item, booker, BookingState.APPROVED, base.minusHours(1), base.plusDays(1));
+        Booking next = new Booking(2L, item, booker, BookingState.APPROVED, base.plusDays(2), base.plusDays(3));
+        ItemBookingSummary stale = new ItemBookingSummary(item.getId(), null, started, started.getStartTime());
+        when(summaryRepositoryMock.findAllByItemIdIn(anyList()))
+                .thenReturn(List.of(stale));
+        when(bookingRepositoryMock.findTop1ByItemIdAndStartTimeBeforeAndStateOrderByStartTimeDesc(anyLong(),
+                any(LocalDateTime.class), any(BookingState.class)))
+                .thenReturn(Optional.of(started));
+        when(bookingRepositoryMock.findTop1ByItemIdAndStartTimeAfterAndStateOrderByStartTimeAsc(anyLong(),
+                any(LocalDateTime.class), any(BookingState.class)))
+                .thenReturn(Optional.of(next));
+
+        Map<Long, ItemBookingSummary> summaries = tracker.getSummaries(List.of(item.getId()));
+
+        ItemBookingSummary summary = summaries.get(item.getId());
+        assertEquals(started, summary.getLastBooking());
+        assertEquals(next, summary.getNextBooking());
+        verify(summaryRepositoryMock, never()).save(any(ItemBookingSummary.class));
+    }
+
+    @Test
+    void getSummaries_shouldNotQueryBookingsForFreshSummaries() {
+        Booking next = new Booking(2L, item, booker, BookingState.APPROVED, base.plusDays(2), base.plusDays(3));
+        when(summaryRepositoryMock.findAllByItemIdIn(anyList()))
+                .thenReturn(List.of(new ItemBookingSummary(item.getId(), null, next, next.getStartTime())));
+
+        Map<Long, ItemBookingSummary> summaries = tracker.getSummaries(List.of(item.getId()));
+
+        assertEquals(next, summaries.get(item.getId()).getNextBooking());
+        verifyNoInteractions(bookingRepositoryMock);
+    }
+}
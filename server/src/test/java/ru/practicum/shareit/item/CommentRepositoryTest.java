@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CommentRepositoryTest {
+    private final CommentRepository commentRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Test
+    void findAllByItemByPattern_shouldReturnPageOfNewestMatchingComments() {
+        User owner = userRepository.save(new User(0, "owner name", RandomUtils.getRandomEmail()));
+        User author = userRepository.save(new User(0, "author name", RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0, owner, "drill", "item description", true, null, null, null));
+        Item otherItem = itemRepository.save(new Item(0, owner, "saw", "item description", true, null, null, null));
+        LocalDateTime now = LocalDateTime.now();
+        Comment oldest = commentRepository.save(new Comment(null, item, author, "Works GREAT", now.minusDays(3)));
+        commentRepository.save(new Comment(null, item, author, "Too loud", now.minusDays(2)));
+        Comment newest = commentRepository.save(new Comment(null, item, author, "great battery", now.minusDays(1)));
+        Comment otherComment = commentRepository.save(new Comment(null, otherItem, author, "great saw", now));
+
+        List<Comment> comments = commentRepository.findAllByItemByPattern(item.getId(), "great",
+                OffsetPageRequest.of(0, 10));
+        List<Comment> secondPage = commentRepository.findAllByItemByPattern(item.getId(), "great",
+                OffsetPageRequest.of(1, 1));
+        List<Comment> allItems = commentRepository.findAllByPattern("GREAT", OffsetPageRequest.of(0, 10));
+
+        assertEquals(List.of(newest.getId(), oldest.getId()), comments.stream().map(Comment::getId).toList());
+        assertEquals(List.of(oldest.getId()), secondPage.stream().map(Comment::getId).toList());
+        assertEquals(List.of(otherComment.getId(), newest.getId(), oldest.getId()),
+                allItems.stream().map(Comment::getId).toList());
+        assertEquals(3, commentRepository.findAllByItemIdOrderByCreatedDescIdDesc(item.getId(),
+                OffsetPageRequest.of(0, 10)).size());
+    }
+}
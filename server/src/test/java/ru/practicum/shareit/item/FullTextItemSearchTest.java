@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FullTextItemSearchTest {
+
+    @Test
+    void toPrefixQuery_shouldMatchEveryWordAsPrefix() {
+        assertEquals("drill:* & bosch:*", FullTextItemSearch.toPrefixQuery("  Drill BOSCH "));
+        assertEquals("дрель:* & 18v:*", FullTextItemSearch.toPrefixQuery("Дрель, 18V!"));
+    }
+
+    @Test
+    void toPrefixQuery_shouldDropQuerySyntax() {
+        assertEquals("drill:* & saw:*", FullTextItemSearch.toPrefixQuery("drill & !saw:*"));
+        assertEquals("", FullTextItemSearch.toPrefixQuery("&|!()"));
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the native full-text queries of the main profile against PostgreSQL, on the main schema. Skipped where
+ * Docker is not available.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.sql.init.schema-locations=file:src/main/resources/schema.sql",
+        "spring.sql.init.separator=^^^ END OF SCRIPT ^^^"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class FullTextSearchPostgresTest {
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+
+    private User owner;
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "owner name", RandomUtils.getRandomEmail()));
+        author = userRepository.save(new User(0, "author name", RandomUtils.getRandomEmail()));
+    }
+
+    @Test
+    void findItemsByFullText_shouldRankNameMatchesFirstAndPage() {
+        Item described = saveItem("Toolbox", "fits a drill and bits", true);
+        Item word = saveItem("Cordless drill", "18V", true);
+        Item exact = saveItem("Drill", "hammer drill", true);
+        Item prefix = saveItem("Drill press", "bench tool", true);
+        saveItem("Drill stand", "broken", false);
+        saveItem("Saw", "circular", true);
+        String query = FullTextItemSearch.toPrefixQuery("drill");
+
+        List<Item> items = itemRepository.findItemsByFullText(query, "drill", OffsetPageRequest.of(0, 10));
+        List<Item> secondPage = itemRepository.findItemsByFullText(query, "drill", OffsetPageRequest.of(1, 2));
+        List<Item> byPrefix = itemRepository.findItemsByFullText(FullTextItemSearch.toPrefixQuery("dri 18"),
+                "dri 18", OffsetPageRequest.of(0, 10));
+
+        assertEquals(ids(exact, prefix, word, described), ids(items));
+        assertEquals(ids(prefix, word), ids(secondPage));
+        assertEquals(ids(word), ids(byPrefix));
+    }
+
+    @Test
+    void findAvailableItemsByFullText_shouldSkipItemsApprovedInPeriod() {
+        Item booked = saveItem("Drill", "hammer drill", true);
+        Item waiting = saveItem("Drill press", "bench tool", true);
+        Item free = saveItem("Cordless drill", "18V", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingRepository.save(new Booking(null, booked, author, BookingState.APPROVED, start.plusHours(1),
+                start.plusDays(1)));
+        bookingRepository.save(new Booking(null, waiting, author, BookingState.WAITING, start, start.plusDays(2)));
+        bookingRepository.save(new Booking(null, free, author, BookingState.APPROVED, start.plusDays(2),
+                start.plusDays(3)));
+        String query = FullTextItemSearch.toPrefixQuery("drill");
+
+        List<Item> items = itemRepository.findAvailableItemsByFullText(query, "drill", start, start.plusDays(2),
+                OffsetPageRequest.of(0, 10));
+        List<Item> secondPage = itemRepository.findAvailableItemsByFullText(query, "drill", start,
+                start.plusDays(2), OffsetPageRequest.of(1, 1));
+
+        assertEquals(ids(waiting, free), ids(items));
+        assertEquals(ids(free), ids(secondPage));
+    }
+
+    @Test
+    void findAllByItemByFullText_shouldReturnPageOfNewestMatchingComments() {
+        Item item = saveItem("Drill", "hammer drill", true);
+        Item otherItem = saveItem("Saw", "circular", true);
+        LocalDateTime now = LocalDateTime.now();
+        Comment oldest = saveComment(item, "Works great", now.minusDays(3));
+        saveComment(item, "Too loud", now.minusDays(2));
+        Comment newest = saveComment(item, "Greatest battery", now.minusDays(1));
+        saveComment(otherItem, "great saw", now);
+        String query = FullTextItemSearch.toPrefixQuery("GREAT");
+
+        List<Comment> comments = commentRepository.findAllByItemByFullText(item.getId(), query,
+                OffsetPageRequest.of(0, 10));
+        List<Comment> secondPage = commentRepository.findAllByItemByFullText(item.getId(), query,
+                OffsetPageRequest.of(1, 1));
+
+        assertEquals(List.of(newest.getId(), oldest.getId()), comments.stream().map(Comment::getId).toList());
+        assertEquals(List.of(oldest.getId()), secondPage.stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void findAllByFullText_shouldRankCommentsOfAllItemsAndPage() {
+        Item item = saveItem("Drill", "hammer drill", true);
+        Item otherItem = saveItem("Saw", "circular", true);
+        LocalDateTime now = LocalDateTime.now();
+        Comment once = saveComment(item, "great, but loud", now.minusDays(2));
+        Comment twice = saveComment(otherItem, "great blade, great saw", now.minusDays(1));
+        Comment onceLater = saveComment(otherItem, "a great deal", now);
+        saveComment(item, "too loud", now);
+        String query = FullTextItemSearch.toPrefixQuery("great");
+
+        List<Comment> comments = commentRepository.findAllByFullText(query, OffsetPageRequest.of(0, 10));
+        List<Comment> secondPage = commentRepository.findAllByFullText(query, OffsetPageRequest.of(1, 2));
+
+        assertEquals(List.of(twice.getId(), onceLater.getId(), once.getId()),
+                comments.stream().map(Comment::getId).toList());
+        assertEquals(List.of(onceLater.getId(), once.getId()), secondPage.stream().map(Comment::getId).toList());
+    }
+
+    private Item saveItem(String name, String description, boolean available) {
+        return itemRepository.save(new Item(0, owner, name, description, available, null, null, null));
+    }
+
+    private Comment saveComment(Item item, String text, LocalDateTime created) {
+        return commentRepository.save(new Comment(null, item, author, text, created));
+    }
+
+    private static List<Long> ids(Item... items) {
+        return List.of(items).stream().map(Item::getId).toList();
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
@@ -210,12 +210,12 @@ public class ItemControllerTest {
 
         ItemDto itemDto = new ItemDto(id, name, description, available, lastBookingDto, nextBookingDto, requestId, comments);
 
-        when(itemService.getItemsByPattern(anyString()))
+        when(itemService.getItemsByPattern(anyString(), any(), any(), anyBoolean(), anyInt(), anyInt()))
                 .thenReturn(List.of(itemDto));
 
         MvcResult mvcResult =
                 mockMvc.perform(get("/items/search")
-                                .param("text", anyString())
+                                .param("text", "text")
                                 .characterEncoding(StandardCharsets.UTF_8)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .accept(MediaType.APPLICATION_JSON)
@@ -231,7 +231,7 @@ public class ItemControllerTest {
         assertNotNull(actualItem);
         assertThat(actualItem).usingRecursiveComparison().isEqualTo(itemDto);
 
-        verify(itemService).getItemsByPattern(anyString());
+        verify(itemService).getItemsByPattern(anyString(), any(), any(), anyBoolean(), anyInt(), anyInt());
     }
 
     @Test
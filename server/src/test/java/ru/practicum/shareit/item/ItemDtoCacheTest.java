@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ItemDtoCacheTest {
+    private ItemDtoCache itemDtoCache;
+
+    @BeforeEach
+    void setUp() {
+        itemDtoCache = new ItemDtoCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_shouldServeCachedViewUntilVersionGrows() {
+        itemDtoCache.get(1L, 1L, itemId -> itemDto("Drill"));
+
+        assertEquals("Drill", itemDtoCache.get(1L, 1L, itemId -> fail("Loaded a cached view")).getName());
+        assertEquals("Hammer", itemDtoCache.get(1L, 2L, itemId -> itemDto("Hammer")).getName());
+    }
+
+    @Test
+    void get_shouldKeepNewerViewInstalledDuringLoad() {
+        ItemDto loaded = itemDtoCache.get(1L, 1L, itemId -> {
+            itemDtoCache.get(1L, 2L, newerItemId -> itemDto("Hammer"));
+            return itemDto("Drill");
+        });
+
+        assertEquals("Hammer", loaded.getName());
+        assertEquals("Hammer", itemDtoCache.get(1L, 2L, itemId -> fail("Loaded a cached view")).getName());
+    }
+
+    private static ItemDto itemDto(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        return itemDto;
+    }
+}
@@ -6,13 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +30,7 @@ public class ItemRepositoryTest {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
 
     @Test
     void save_shouldReturnSavedItemWithIdOwnerRequest() {
@@ -75,7 +81,7 @@ public class ItemRepositoryTest {
         assertTrue(savedItem.getId() > 0);
         assertThat(item).usingRecursiveComparison().ignoringFields("id").isEqualTo(savedItem);
 
-        List<Item> itemsByPattern = itemRepository.findItemsByPattern(pattern);
+        List<Item> itemsByPattern = itemRepository.findItemsByPattern(pattern, OffsetPageRequest.of(0, 10));
         assertNotNull(itemsByPattern);
         assertThat(itemsByPattern.size() == 1);
         Item itemByPattern = itemsByPattern.getFirst();
@@ -102,7 +108,7 @@ public class ItemRepositoryTest {
         assertTrue(savedItem.getId() > 0);
         assertThat(item).usingRecursiveComparison().ignoringFields("id").isEqualTo(savedItem);
 
-        List<Item> itemsByPattern = itemRepository.findItemsByPattern(pattern);
+        List<Item> itemsByPattern = itemRepository.findItemsByPattern(pattern, OffsetPageRequest.of(0, 10));
         assertNotNull(itemsByPattern);
         assertThat(itemsByPattern.size() == 1);
         Item itemByPattern = itemsByPattern.getFirst();
@@ -130,11 +136,49 @@ public class ItemRepositoryTest {
         assertTrue(savedItem.getId() > 0);
         assertThat(item).usingRecursiveComparison().ignoringFields("id").isEqualTo(savedItem);
 
-        List<Item> itemsByPattern = itemRepository.findItemsByPattern(pattern);
+        List<Item> itemsByPattern = itemRepository.findItemsByPattern(pattern, OffsetPageRequest.of(0, 10));
         assertNotNull(itemsByPattern);
         assertThat(itemsByPattern.isEmpty());
     }
 
+    @Test
+    void findByPattern_shouldRankExactNameThenPrefixThenNameThenDescription() {
+        User owner = userRepository.save(new User(0, "owner name", RandomUtils.getRandomEmail()));
+        Item descriptionHit = itemRepository.save(new Item(0, owner, "hammer", "not a drill", true, null, null, null));
+        Item nameHit = itemRepository.save(new Item(0, owner, "cordless drill", "item description", true, null, null, null));
+        Item prefixHit = itemRepository.save(new Item(0, owner, "Drill bits", "item description", true, null, null, null));
+        Item exactHit = itemRepository.save(new Item(0, owner, "DRILL", "item description", true, null, null, null));
+
+        List<Item> items = itemRepository.findItemsByPattern("drill", OffsetPageRequest.of(0, 10));
+        List<Item> secondPage = itemRepository.findItemsByPattern("drill", OffsetPageRequest.of(2, 2));
+
+        assertEquals(List.of(exactHit.getId(), prefixHit.getId(), nameHit.getId(), descriptionHit.getId()),
+                items.stream().map(Item::getId).toList());
+        assertEquals(List.of(nameHit.getId(), descriptionHit.getId()), secondPage.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void findAvailableItemsByPattern_shouldSkipItemsWithApprovedBookingsInPeriod() {
+        User owner = userRepository.save(new User(0, "owner name", RandomUtils.getRandomEmail()));
+        User booker = userRepository.save(new User(0, "user name", RandomUtils.getRandomEmail()));
+        Item bookedItem = itemRepository.save(new Item(0, owner, "drill", "item description", true, null, null, null));
+        Item waitingItem = itemRepository.save(new Item(0, owner, "drill", "item description", true, null, null, null));
+        Item freeItem = itemRepository.save(new Item(0, owner, "Big DRILL", "item description", true, null, null, null));
+        itemRepository.save(new Item(0, owner, "saw", "item description", true, null, null, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime end = start.plusDays(2);
+        bookingRepository.save(new Booking(null, bookedItem, booker, BookingState.APPROVED,
+                start.minusDays(1), start.plusHours(1)));
+        bookingRepository.save(new Booking(null, waitingItem, booker, BookingState.WAITING, start, end));
+        bookingRepository.save(new Booking(null, freeItem, booker, BookingState.APPROVED, end, end.plusDays(1)));
+
+        List<Item> items = itemRepository.findAvailableItemsByPattern("drill", start, end, OffsetPageRequest.of(0, 10));
+        List<Item> firstPage = itemRepository.findAvailableItemsByPattern("drill", start, end, OffsetPageRequest.of(0, 1));
+
+        assertEquals(List.of(waitingItem.getId(), freeItem.getId()), items.stream().map(Item::getId).toList());
+        assertEquals(List.of(waitingItem.getId()), firstPage.stream().map(Item::getId).toList());
+    }
+
     @Test
     void findAllByItemRequestInAndAvailableTrue_shouldReturnListOfApprovedItemsCreatedOnRequest() {
         boolean approved = true;
@@ -1,30 +1,39 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.ItemBookingSummaryTracker;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.UnacceptableValueException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.AssociationBatchLoader;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,7 +50,9 @@ public class ItemServiceTest {
     @Mock private UserRepository userRepositoryMock;
     @Mock private BookingRepository bookingRepositoryMock;
     @Mock private CommentRepository commentRepositoryMock;
+    @Mock private EntityManager entityManagerMock;
     @Mock private ItemRequestRepository itemRequestRepositoryMock;
+    @Mock private ItemBookingSummaryTracker itemBookingSummaryTrackerMock;
 
     @Mock
     private ItemMapper itemMapper;
@@ -50,8 +61,56 @@ public class ItemServiceTest {
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(itemRepositoryMock, userRepositoryMock,
-                bookingRepositoryMock, commentRepositoryMock, itemRequestRepositoryMock);
+        itemService = new ItemServiceImpl(itemRepositoryMock, userRepositoryMock, bookingRepositoryMock,
+                new BookingIntervalIndex(bookingRepositoryMock, 100, Duration.ofSeconds(30),
+                        new SimpleMeterRegistry()), commentRepositoryMock, itemRequestRepositoryMock,
+                itemBookingSummaryTrackerMock, new LikeItemSearch(itemRepositoryMock),
+                new ItemTermDictionary(itemRepositoryMock), new ItemSuggestIndex(itemRepositoryMock),
+                new LikeCommentSearch(commentRepositoryMock),
+                new ItemDtoCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()),
+                new AssociationBatchLoader(entityManagerMock));
+    }
+
+    @Test
+    void getAvailability_shouldReturnGapsBetweenApprovedAndWaitingBookings() {
+        User owner = new User(1L, "Some Name", RandomUtils.getRandomEmail());
+        User user = new User(2L, "Some Name", RandomUtils.getRandomEmail());
+        Item item = new Item(12L, owner, "Some Name", "Some description", true, null, null, null);
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(10);
+        Booking approved1 = new Booking(1L, item, user, BookingState.APPROVED, from.plusDays(1), from.plusDays(2));
+        Booking approved2 = new Booking(2L, item, user, BookingState.APPROVED, from.plusDays(2), from.plusDays(3));
+        Booking waiting = new Booking(3L, item, user, BookingState.WAITING, from.plusDays(5), from.plusDays(6));
+
+        when(itemRepositoryMock.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepositoryMock.findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(approved1, approved2));
+        when(bookingRepositoryMock.findAllWaitingBookingsForItemInPeriod(item.getId(), from, to))
+                .thenReturn(List.of(waiting));
+
+        List<AvailabilityPeriodDto> approvedOnly = itemService.getAvailability(item.getId(), from, to, false);
+        List<AvailabilityPeriodDto> withWaiting = itemService.getAvailability(item.getId(), from, to, true);
+
+        assertEquals(List.of(
+                new AvailabilityPeriodDto(dateTimeFormatter.format(from), dateTimeFormatter.format(from.plusDays(1))),
+                new AvailabilityPeriodDto(dateTimeFormatter.format(from.plusDays(3)), dateTimeFormatter.format(to))),
+                approvedOnly);
+        assertEquals(List.of(
+                new AvailabilityPeriodDto(dateTimeFormatter.format(from), dateTimeFormatter.format(from.plusDays(1))),
+                new AvailabilityPeriodDto(dateTimeFormatter.format(from.plusDays(3)), dateTimeFormatter.format(from.plusDays(5))),
+                new AvailabilityPeriodDto(dateTimeFormatter.format(from.plusDays(6)), dateTimeFormatter.format(to))),
+                withWaiting);
+        verify(bookingRepositoryMock).findAllCurrentAndFutureBookingForItems(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getAvailability_shouldThrowExceptionForInvalidPeriod() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(12L, from, from, false));
+
+        verify(itemRepositoryMock, never()).findById(anyLong());
     }
 
     @Test
@@ -98,6 +157,29 @@ public class ItemServiceTest {
         verify(commentRepositoryMock).findAllByItemIdOrderByCreatedDesc(anyLong());
     }
 
+    @Test
+    void getItemById_shouldServeRepeatedReadsFromCacheUntilItemVersionChanges() {
+        long itemId = 12L;
+        User owner = new User(1L, "Owner name", RandomUtils.getRandomEmail());
+        Item item = new Item(itemId, owner, "Some Name", "Some description", true, null, null, null);
+
+        when(itemRepositoryMock.findVersionById(itemId)).thenReturn(Optional.of(0L), Optional.of(0L), Optional.of(1L));
+        when(itemRepositoryMock.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepositoryMock.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(commentRepositoryMock.findAllByItemIdOrderByCreatedDesc(itemId)).thenReturn(List.of());
+
+        ItemDto first = itemService.getItemById(itemId);
+        ItemDto second = itemService.getItemById(itemId);
+        itemService.updateItem(owner.getId(), itemId, new UpdateItemRequest("New name", null, null));
+        ItemDto updated = itemService.getItemById(itemId);
+
+        assertSame(first, second);
+        assertEquals("New name", updated.getName());
+        verify(itemRepositoryMock, times(3)).findById(itemId);
+        verify(itemRepositoryMock).incrementVersion(itemId);
+        verify(commentRepositoryMock, times(2)).findAllByItemIdOrderByCreatedDesc(itemId);
+    }
+
     @Test
     void getItemById_shouldThrowExceptionWhenNotFound() {
 
@@ -132,8 +214,9 @@ public class ItemServiceTest {
 
         when(itemRepositoryMock.findAllByOwner(any(User.class)))
                 .thenReturn(List.of(item));
-        when(bookingRepositoryMock.findAllApprovedBookings(anyList()))
-                .thenReturn(List.of(lastBooking, nextBooking));
+        when(itemBookingSummaryTrackerMock.getSummaries(anyList()))
+                .thenReturn(Map.of(itemId, new ItemBookingSummary(itemId, lastBooking, nextBooking,
+                        nextBooking.getStartTime())));
 
         when(commentRepositoryMock.findAllByItemIdInOrderByCreatedDesc(anyList()))
                 .thenReturn(List.of());
@@ -157,7 +240,7 @@ public class ItemServiceTest {
 
         verify(userRepositoryMock).findById(anyLong());
         verify(itemRepositoryMock).findAllByOwner(any(User.class));
-        verify(bookingRepositoryMock).findAllApprovedBookings(anyList());
+        verify(itemBookingSummaryTrackerMock).getSummaries(anyList());
         verify(commentRepositoryMock).findAllByItemIdInOrderByCreatedDesc(anyList());
     }
 
@@ -186,8 +269,9 @@ public class ItemServiceTest {
 
         when(itemRepositoryMock.findAllByOwner(any(User.class)))
                 .thenReturn(List.of(item));
-        when(bookingRepositoryMock.findAllApprovedBookings(anyList()))
-                .thenReturn(List.of(lastBooking, nextBooking));
+        when(itemBookingSummaryTrackerMock.getSummaries(anyList()))
+                .thenReturn(Map.of(itemId, new ItemBookingSummary(itemId, lastBooking, nextBooking,
+                        nextBooking.getStartTime())));
 
         when(commentRepositoryMock.findAllByItemIdInOrderByCreatedDesc(anyList()))
                 .thenReturn(List.of());
@@ -212,7 +296,7 @@ public class ItemServiceTest {
 
         verify(userRepositoryMock).findById(anyLong());
         verify(itemRepositoryMock).findAllByOwner(any(User.class));
-        verify(bookingRepositoryMock).findAllApprovedBookings(anyList());
+        verify(itemBookingSummaryTrackerMock).getSummaries(anyList());
         verify(commentRepositoryMock).findAllByItemIdInOrderByCreatedDesc(anyList());
     }
 
@@ -225,10 +309,20 @@ public class ItemServiceTest {
 
         verify(itemRepositoryMock, never()).findAllByOwner(any(User.class));
         verify(commentRepositoryMock, never()).findAllByItemIdOrderByCreatedDesc(anyLong());
-        verify(bookingRepositoryMock, never()).findAllApprovedBookings(anyList());
+        verify(itemBookingSummaryTrackerMock, never()).getSummaries(anyList());
         verify(commentRepositoryMock, never()).findAllByItemIdInOrderByCreatedDesc(anyList());
     }
 
+    @Test
+    void getItemsByPattern_shouldThrowExceptionForIncompletePeriod() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.getItemsByPattern("drill", start, null, false, 0, 10));
+        assertThrows(ValidationException.class, () -> itemService.getItemsByPattern("drill", start, start, false, 0, 10));
+
+        verify(itemRepositoryMock, never()).findAvailableItemsByPattern(anyString(), any(), any(), any());
+    }
+
     @Test
     void getItemsByPattern_shouldReturnCollectionOfItems() {
         String name = "Some Name";
@@ -239,10 +333,10 @@ public class ItemServiceTest {
 
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
 
-        when(itemRepositoryMock.findItemsByPattern(anyString()))
+        when(itemRepositoryMock.findItemsByPattern(anyString(), any(Pageable.class)))
                 .thenReturn(List.of(item));
 
-        Collection<ItemDto> findedItems = itemService.getItemsByPattern("string");
+        Collection<ItemDto> findedItems = itemService.getItemsByPattern("string", null, null, false, 0, 10);
 
         assertNotNull(findedItems);
         assertEquals(1, findedItems.size());
@@ -252,7 +346,8 @@ public class ItemServiceTest {
         assertEquals(description, findedItem.getDescription());
         assertEquals(available, findedItem.isAvailable());
 
-        verify(itemRepositoryMock).findItemsByPattern(anyString());
+        verify(itemRepositoryMock).findItemsByPattern(anyString(), any(Pageable.class));
+        verify(itemRepositoryMock, never()).findAvailableItemsByPattern(anyString(), any(), any(), any());
     }
 
     @Test
@@ -343,7 +438,6 @@ public class ItemServiceTest {
 
         NewCommentRequest newCommentReq = new NewCommentRequest(text);
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
-        Booking lastBooking = new Booking(1L, item, author, BookingState.APPROVED, LocalDateTime.MIN, LocalDateTime.MIN.plusDays(1));
         Comment comment = new Comment(commentId, item, author, text, LocalDateTime.now());
 
         when(userRepositoryMock.findById(anyLong()))
@@ -352,8 +446,8 @@ public class ItemServiceTest {
         when(itemRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingRepositoryMock.findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), anyLong(),
-                any(LocalDateTime.class))).thenReturn(List.of(lastBooking));
+        when(bookingRepositoryMock.existsByUserIdAndItemIdAndStateAndEndTimeBefore(anyLong(), anyLong(),
+                eq(BookingState.APPROVED), any(LocalDateTime.class))).thenReturn(true);
 
         when(commentRepositoryMock.save(any(Comment.class)))
                 .thenReturn(comment);
@@ -368,10 +462,67 @@ public class ItemServiceTest {
 
         verify(userRepositoryMock).findById(anyLong());
         verify(itemRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).existsByUserIdAndItemIdAndStateAndEndTimeBefore(anyLong(), anyLong(),
+                eq(BookingState.APPROVED), any(LocalDateTime.class));
         verify(commentRepositoryMock).save(any(Comment.class));
     }
 
+    @Test
+    void getComments_shouldSearchItemCommentsByText() {
+        User owner = new User(1L, "Owner name", RandomUtils.getRandomEmail());
+        User author = new User(2L, "Author name", RandomUtils.getRandomEmail());
+        Item item = new Item(12L, owner, "Some Name", "Some description", true, null, null, null);
+        Comment comment = new Comment(13L, item, author, "Great drill", LocalDateTime.now());
+
+        when(itemRepositoryMock.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepositoryMock.findAllByItemByPattern(eq(item.getId()), eq("drill"), any(Pageable.class)))
+                .thenReturn(List.of(comment));
+
+        List<CommentDto> comments = itemService.getComments(item.getId(), " drill ", 0, 10);
+
+        assertEquals(1, comments.size());
+        assertEquals(comment.getId(), comments.getFirst().getId());
+        assertEquals(author.getName(), comments.getFirst().getAuthorName());
+        verify(commentRepositoryMock, never()).findAllByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getComments_shouldPageAllCommentsWhenTextIsEmpty() {
+        User owner = new User(1L, "Owner name", RandomUtils.getRandomEmail());
+        Item item = new Item(12L, owner, "Some Name", "Some description", true, null, null, null);
+
+        when(itemRepositoryMock.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepositoryMock.findAllByItemIdOrderByCreatedDescIdDesc(eq(item.getId()), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertTrue(itemService.getComments(item.getId(), null, 0, 10).isEmpty());
+        verify(commentRepositoryMock, never()).findAllByItemByPattern(anyLong(), anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void getComments_shouldThrowExceptionWhenItemNotFound() {
+        when(itemRepositoryMock.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.getComments(12L, "drill", 0, 10));
+        verify(commentRepositoryMock, never()).findAllByItemByPattern(anyLong(), anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchComments_shouldReturnCommentsWithItemId() {
+        User owner = new User(1L, "Owner name", RandomUtils.getRandomEmail());
+        User author = new User(2L, "Author name", RandomUtils.getRandomEmail());
+        Item item = new Item(12L, owner, "Some Name", "Some description", true, null, null, null);
+        Comment comment = new Comment(13L, item, author, "Great drill", LocalDateTime.now());
+
+        when(commentRepositoryMock.findAllByPattern(eq("drill"), any(Pageable.class))).thenReturn(List.of(comment));
+
+        List<ItemCommentDto> comments = itemService.searchComments("drill", 0, 10);
+
+        assertEquals(1, comments.size());
+        assertEquals(item.getId(), comments.getFirst().getItemId());
+        assertEquals(comment.getText(), comments.getFirst().getText());
+    }
+
     @Test
     void addComment_shouldThrowExceptionWhenUserIsOwner() {
         String name = "Some Name";
@@ -396,7 +547,8 @@ public class ItemServiceTest {
 
         verify(userRepositoryMock).findById(anyLong());
         verify(itemRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock, never()).findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock, never()).existsByUserIdAndItemIdAndStateAndEndTimeBefore(anyLong(), anyLong(),
+                eq(BookingState.APPROVED), any(LocalDateTime.class));
         verify(commentRepositoryMock, never()).save(any(Comment.class));
     }
 
@@ -413,7 +565,6 @@ public class ItemServiceTest {
 
         NewCommentRequest newCommentReq = new NewCommentRequest(text);
         Item item = new Item(itemId, owner, name, description, available, null, null, null);
-        Booking lastBooking = new Booking(1L, item, author, BookingState.APPROVED, LocalDateTime.MIN, LocalDateTime.MIN.plusDays(1));
         Comment comment = new Comment(commentId, item, author, text, LocalDateTime.now());
 
         when(userRepositoryMock.findById(anyLong()))
@@ -422,13 +573,14 @@ public class ItemServiceTest {
         when(itemRepositoryMock.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingRepositoryMock.findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), anyLong(),
-                any(LocalDateTime.class))).thenReturn(List.of());
+        when(bookingRepositoryMock.existsByUserIdAndItemIdAndStateAndEndTimeBefore(anyLong(), anyLong(),
+                eq(BookingState.APPROVED), any(LocalDateTime.class))).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> itemService.addComment(newCommentReq, author.getId(), item.getId()));
         verify(userRepositoryMock).findById(anyLong());
         verify(itemRepositoryMock).findById(anyLong());
-        verify(bookingRepositoryMock).findAllByUserIdAndItemIdAndEndTimeBeforeOrderByStartTimeDesc(anyLong(), anyLong(), any(LocalDateTime.class));
+        verify(bookingRepositoryMock).existsByUserIdAndItemIdAndStateAndEndTimeBefore(anyLong(), anyLong(),
+                eq(BookingState.APPROVED), any(LocalDateTime.class));
         verify(commentRepositoryMock, never()).save(any(Comment.class));
     }
 
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.item.dto.ItemDtoAnswer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSuggestIndexTest {
+    @Mock private ItemRepository itemRepositoryMock;
+
+    private ItemSuggestIndex itemSuggestIndex;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User(1L, "Some Name", RandomUtils.getRandomEmail());
+        itemSuggestIndex = new ItemSuggestIndex(itemRepositoryMock);
+
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new Item(1L, owner, "Drill", "Some description", true, null, null, null),
+                        new Item(2L, owner, "Cordless drill", "Some description", true, null, null, null),
+                        new Item(3L, owner, "Drill press", "Some description", false, null, null, null),
+                        new Item(4L, owner, "Hammer drill-driver", "Some description", true, null, null, null)));
+        itemSuggestIndex.build();
+    }
+
+    @Test
+    void suggest_shouldReturnAvailableItemsWithNameOrWordStartingWithPrefix() {
+        assertEquals(List.of(1L, 2L, 4L), ids(itemSuggestIndex.suggest("DRI", 10)));
+        assertEquals(List.of(4L), ids(itemSuggestIndex.suggest("driv", 10)));
+        assertEquals(List.of(2L), ids(itemSuggestIndex.suggest("cord", 10)));
+        assertEquals(List.of(), ids(itemSuggestIndex.suggest("rill", 10)));
+        assertEquals(List.of(1L, 2L), ids(itemSuggestIndex.suggest("drill", 2)));
+    }
+
+    @Test
+    void suggest_shouldRankExactNameThenNamePrefixThenWordPrefix() {
+        itemSuggestIndex.onItemSaved(new Item(3L, owner, "Drill press", "Some description", true, null, null, null));
+        itemSuggestIndex.onItemSaved(new Item(5L, owner, "Angle drill", "Some description", true, null, null, null));
+
+        assertEquals(List.of(1L, 3L, 5L), ids(itemSuggestIndex.suggest("drill", 3)));
+        assertEquals(List.of(1L, 3L, 5L, 2L, 4L), ids(itemSuggestIndex.suggest("drill", 10)));
+        assertEquals(List.of(1L, 3L), ids(itemSuggestIndex.suggest("dri", 2)));
+    }
+
+    @Test
+    void onItemSaved_shouldReplaceNameAndFollowAvailability() {
+        itemSuggestIndex.onItemSaved(new Item(1L, owner, "Screwdriver", "Some description", true, null, null, null));
+        itemSuggestIndex.onItemSaved(new Item(2L, owner, "Cordless drill", "Some description", false, null, null, null));
+        itemSuggestIndex.onItemSaved(new Item(3L, owner, "Drill press", "Some description", true, null, null, null));
+
+        assertEquals(List.of(3L, 4L), ids(itemSuggestIndex.suggest("drill", 10)));
+        assertEquals(List.of(1L), ids(itemSuggestIndex.suggest("screw", 10)));
+    }
+
+    @Test
+    void onItemsDeleted_shouldForgetItems() {
+        itemSuggestIndex.onItemsDeleted(List.of(1L, 3L, 4L));
+
+        assertEquals(List.of(2L), ids(itemSuggestIndex.suggest("dri", 10)));
+        assertEquals(List.of(), ids(itemSuggestIndex.suggest("hammer", 10)));
+    }
+
+    @Test
+    void build_shouldNotAddBackItemDeletedWhileBuilding() {
+        ItemSuggestIndex buildingIndex = new ItemSuggestIndex(itemRepositoryMock);
+        buildingIndex.onItemsDeleted(List.of(1L));
+        buildingIndex.build();
+
+        assertEquals(List.of(2L, 4L), ids(buildingIndex.suggest("drill", 10)));
+    }
+
+    private static List<Long> ids(List<ItemDtoAnswer> suggestions) {
+        return suggestions.stream().map(ItemDtoAnswer::getId).toList();
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemTermDictionaryTest {
+    @Mock private ItemRepository itemRepositoryMock;
+
+    private ItemTermDictionary itemTermDictionary;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User(1L, "Some Name", RandomUtils.getRandomEmail());
+        itemTermDictionary = new ItemTermDictionary(itemRepositoryMock);
+
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new Item(1L, owner, "Cordless drill", "Drill with battery", true, null, null, null),
+                        new Item(2L, owner, "Drill bits", null, true, null, null, null),
+                        new Item(3L, owner, "Hammer", "Heavy hammer", true, null, null, null),
+                        new Item(4L, owner, "Saw", "Sharp", true, null, null, null)));
+        itemTermDictionary.build();
+    }
+
+    @Test
+    void correct_shouldReplaceMisspelledWordsWithClosestTerms() {
+        assertEquals("drill", itemTermDictionary.correct("drel"));
+        assertEquals("cordless drill", itemTermDictionary.correct(" Cordlss  DRILL "));
+        assertEquals("hammer", itemTermDictionary.correct("hamer"));
+        assertEquals("saw", itemTermDictionary.correct("sav"));
+    }
+
+    @Test
+    void correct_shouldKeepKnownPrefixesAndUnknownWords() {
+        assertEquals("dri", itemTermDictionary.correct("dri"));
+        assertEquals("xyzzy", itemTermDictionary.correct("xyzzy"));
+    }
+
+    @Test
+    void onItemSaved_shouldForgetTermsNoLongerUsed() {
+        Item saw = new Item(4L, owner, "Jigsaw", "Sharp", true, null, null, null);
+        itemTermDictionary.onItemSaved("Saw", "Sharp", saw);
+
+        assertEquals("jigsaw", itemTermDictionary.correct("jigsav"));
+        assertEquals("sav", itemTermDictionary.correct("sav"));
+    }
+
+    @Test
+    void findCandidates_shouldStayBoundedForShortMisspelling() {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        items.add(new Item(1L, owner, "Drill", null, true, null, null, null));
+        for (long id = 2; id <= 20_000; id++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 4 + random.nextInt(5); word.length() < length; ) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            items.add(new Item(id, owner, word.toString(), null, true, null, null, null));
+        }
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(anyLong(), any(Pageable.class))).thenReturn(items);
+        itemTermDictionary = new ItemTermDictionary(itemRepositoryMock);
+        itemTermDictionary.build();
+
+        var candidates = itemTermDictionary.findCandidates("drel", 2);
+
+        assertTrue(candidates.contains("drill"));
+        assertTrue(candidates.size() < 200, "candidates=" + candidates.size());
+    }
+
+    @Test
+    void build_shouldCountItemSavedBeforeItWasReadOnce() {
+        Item jigsaw = new Item(4L, owner, "Jigsaw", "Sharp", true, null, null, null);
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(anyLong(), any(Pageable.class))).thenAnswer(call -> {
+            itemTermDictionary.onItemSaved("Saw", "Sharp", jigsaw);
+            return List.of(jigsaw);
+        });
+        itemTermDictionary = new ItemTermDictionary(itemRepositoryMock);
+        itemTermDictionary.build();
+
+        itemTermDictionary.onItemSaved("Jigsaw", "Sharp", new Item(4L, owner, "Saw", "Sharp", true, null, null, null));
+
+        assertEquals("jigsav", itemTermDictionary.correct("jigsav"));
+        assertEquals("saw", itemTermDictionary.correct("sav"));
+    }
+
+    @Test
+    void build_shouldApplyItemSavedAfterItWasRead() {
+        List<Item> firstChunk = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new Item(id, owner, id == 4 ? "Saw" : "Item", null, true, null, null, null))
+                .toList();
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(eq(0L), any(Pageable.class))).thenReturn(firstChunk);
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(eq(1000L), any(Pageable.class))).thenAnswer(call -> {
+            itemTermDictionary.onItemSaved("Saw", null, new Item(4L, owner, "Jigsaw", null, true, null, null, null));
+            return List.of();
+        });
+        itemTermDictionary = new ItemTermDictionary(itemRepositoryMock);
+        itemTermDictionary.build();
+
+        assertEquals("jigsaw", itemTermDictionary.correct("jigsav"));
+        assertEquals("sav", itemTermDictionary.correct("sav"));
+    }
+
+    @Test
+    void onItemsDeleted_shouldForgetTermsOnlyUsedByDeletedItems() {
+        itemTermDictionary.onItemsDeleted(List.of(
+                new Item(2L, owner, "Drill bits", null, true, null, null, null),
+                new Item(4L, owner, "Saw", "Sharp", true, null, null, null)));
+
+        assertEquals("drill", itemTermDictionary.correct("drel"));
+        assertEquals("bids", itemTermDictionary.correct("bids"));
+        assertEquals("sav", itemTermDictionary.correct("sav"));
+    }
+
+    @Test
+    void build_shouldNotUncountItemDeletedBeforeItWasRead() {
+        Item drillBits = new Item(2L, owner, "Drill bits", null, true, null, null, null);
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(anyLong(), any(Pageable.class))).thenAnswer(call -> {
+            itemTermDictionary.onItemsDeleted(List.of(drillBits));
+            return List.of(new Item(1L, owner, "Cordless drill", null, true, null, null, null));
+        });
+        itemTermDictionary = new ItemTermDictionary(itemRepositoryMock);
+        itemTermDictionary.build();
+
+        assertEquals("drill", itemTermDictionary.correct("drel"));
+        assertEquals("bids", itemTermDictionary.correct("bids"));
+    }
+
+    @Test
+    void distance_shouldStopAtBound() {
+        assertEquals(2, ItemTermDictionary.distance("drel", "drill", 2));
+        assertEquals(2, ItemTermDictionary.distance("drel", "drill", 1));
+        assertEquals(0, ItemTermDictionary.distance("saw", "saw", 1));
+        assertEquals(3, ItemTermDictionary.distance("a", "hammer", 2));
+    }
+}
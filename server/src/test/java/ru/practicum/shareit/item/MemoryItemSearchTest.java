@@ -0,0 +1,172 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MemoryItemSearchTest {
+    @Mock private ItemRepository itemRepositoryMock;
+
+    private final Map<Long, Item> items = new HashMap<>();
+    private MemoryItemSearch itemSearch;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User(1L, "Some Name", RandomUtils.getRandomEmail());
+        items.put(1L, new Item(1L, owner, "Cordless Drill", "18V with battery", true, null, null, null));
+        items.put(2L, new Item(2L, owner, "Hammer", "Good for a DRILLING helper", true, null, null, null));
+        items.put(3L, new Item(3L, owner, "Drill press", "Heavy", false, null, null, null));
+        items.put(4L, new Item(4L, owner, "Saw", null, true, null, null, null));
+        itemSearch = new MemoryItemSearch(itemRepositoryMock);
+
+        when(itemRepositoryMock.findAllByIdGreaterThanOrderById(anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(new TreeMap<>(items).values()));
+        lenient().when(itemRepositoryMock.findAllById(anyList()))
+                .thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0)).stream().map(items::get).toList());
+        itemSearch.build();
+    }
+
+    @Test
+    void search_shouldFindAvailableItemsBySubstringOfNameOrDescription() {
+        assertEquals(List.of(1L, 2L), ids(itemSearch.search("dRiLl", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(itemSearch.search("with bat", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(itemSearch.search("drills", OffsetPageRequest.of(0, 10))));
+        verify(itemRepositoryMock, never()).findItemsByPattern(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void search_shouldLeavePatternShorterThanTrigramToDatabase() {
+        when(itemRepositoryMock.findItemsByPattern(eq("aw"), any(Pageable.class))).thenReturn(List.of(items.get(4L)));
+
+        assertEquals(List.of(4L), ids(itemSearch.search("aw", OffsetPageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_shouldMatchWholePatternOnly() {
+        assertEquals(List.of(), ids(itemSearch.search("drill press heavy", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(itemSearch.search("dril hammer", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(itemSearch.search("illdr", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(itemSearch.search("a drilling", OffsetPageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_shouldReturnRequestedPage() {
+        assertEquals(List.of(2L), ids(itemSearch.search("drill", OffsetPageRequest.of(1, 1))));
+        assertEquals(List.of(), ids(itemSearch.search("drill", OffsetPageRequest.of(2, 1))));
+    }
+
+    @Test
+    void search_shouldRankExactNameThenPrefixThenNameThenDescription() {
+        User owner = items.get(1L).getOwner();
+        items.put(5L, new Item(5L, owner, "drill", "Plain", true, null, null, null));
+        items.put(6L, new Item(6L, owner, "Drill bits", null, true, null, null, null));
+        itemSearch.indexItem(items.get(5L));
+        itemSearch.indexItem(items.get(6L));
+
+        assertEquals(List.of(5L, 6L, 1L, 2L), ids(itemSearch.search("Drill", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(1L, 2L), ids(itemSearch.search("Drill", OffsetPageRequest.of(2, 2))));
+    }
+
+    @Test
+    void indexItem_shouldReplaceOldTextAndAvailability() {
+        Item drill = items.get(1L);
+        drill.setName("Screwdriver");
+        drill.setDescription("Small");
+        itemSearch.indexItem(drill);
+        Item press = items.get(3L);
+        press.setAvailable(true);
+        itemSearch.indexItem(press);
+
+        assertEquals(List.of(3L, 2L), ids(itemSearch.search("drill", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(itemSearch.search("screw", OffsetPageRequest.of(0, 10))));
+    }
+
+    @Test
+    void removeItems_shouldDropItemsFromResults() {
+        itemSearch.removeItems(List.of(1L));
+
+        assertEquals(List.of(2L), ids(itemSearch.search("drill", OffsetPageRequest.of(0, 1))));
+        assertEquals(List.of(), ids(itemSearch.search("battery", OffsetPageRequest.of(0, 10))));
+    }
+
+    @Test
+    void indexItem_shouldKeepResultsWhenDeadDocumentsAreCompacted() {
+        Item saw = items.get(4L);
+        for (int version = 0; version < 200; version++) {
+            saw.setName("Saw " + version);
+            saw.setDescription("Sharp ".repeat(20));
+            itemSearch.indexItem(saw);
+        }
+
+        assertEquals(List.of(4L), ids(itemSearch.search("saw 199", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(itemSearch.search("saw 198", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(1L, 2L), ids(itemSearch.search("drill", OffsetPageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(itemSearch.search("with bat", OffsetPageRequest.of(0, 10))));
+    }
+
+    @Test
+    void searchFreeInPeriod_shouldCheckFreeItemsInChunks() {
+        User owner = items.get(1L).getOwner();
+        for (long id = 10; id < 2510; id++) {
+            items.put(id, new Item(id, owner, "Saw " + id, null, true, null, null, null));
+            itemSearch.indexItem(items.get(id));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(itemRepositoryMock.findFreeItemIdsInPeriod(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .filter(id -> id % 2 == 0)
+                        .toList());
+
+        List<Item> found = itemSearch.searchFreeInPeriod("saw", start, start.plusDays(1), OffsetPageRequest.of(2, 3));
+
+        assertEquals(List.of(12L, 14L, 16L), ids(found));
+        ArgumentCaptor<Collection<Long>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(itemRepositoryMock, atLeastOnce()).findFreeItemIdsInPeriod(chunks.capture(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        assertTrue(chunks.getAllValues().stream().allMatch(chunk -> chunk.size() <= 1000));
+    }
+
+    @Test
+    void searchFreeInPeriod_shouldRankDeeperOnlyUntilPageIsFilled() {
+        User owner = items.get(1L).getOwner();
+        for (long id = 10; id < 5010; id++) {
+            items.put(id, new Item(id, owner, "Saw " + id, null, true, null, null, null));
+            itemSearch.indexItem(items.get(id));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(itemRepositoryMock.findFreeItemIdsInPeriod(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .filter(id -> id >= 2000)
+                        .toList());
+
+        List<Item> found = itemSearch.searchFreeInPeriod("saw", start, start.plusDays(1), OffsetPageRequest.of(1, 2));
+
+        assertEquals(List.of(2001L, 2002L), ids(found));
+        verify(itemRepositoryMock, times(2)).findFreeItemIdsInPeriod(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class));
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
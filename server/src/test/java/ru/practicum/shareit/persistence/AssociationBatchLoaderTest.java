@@ -0,0 +1,92 @@
+package ru.practicum.shareit.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.RandomUtils;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AssociationBatchLoader.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class AssociationBatchLoaderTest {
+    private final AssociationBatchLoader associationBatchLoader;
+    private final ItemRequestRepository itemRequestRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void load_shouldResolveRequestorsOfAllRequestsInOneStatement() {
+        User user = userRepository.save(new User(0, "user name", RandomUtils.getRandomEmail()));
+        for (int i = 0; i < 6; i++) {
+            User requestor = userRepository.save(new User(0, "requestor " + i, RandomUtils.getRandomEmail()));
+            itemRequestRepository.save(new ItemRequest(null, requestor, "description " + i, LocalDateTime.now()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(user.getId());
+
+        statistics.clear();
+        associationBatchLoader.load(requests, ItemRequest::getRequestor);
+        List<ItemRequestDto> requestDtos = requests.stream()
+                .map(request -> ItemRequestMapper.mapToItemRequestDto(request, Set.of()))
+                .toList();
+
+        assertEquals(6, requestDtos.stream().map(requestDto -> requestDto.getRequestor().getEmail()).distinct().count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void load_shouldSkipInitializedAssociationsAndRepeatedIds() {
+        User owner = userRepository.save(new User(0, "owner name", RandomUtils.getRandomEmail()));
+        Item item = itemRepository.save(new Item(0, owner, "drill", "item description", true, null, null, null));
+        for (int i = 0; i < 4; i++) {
+            User author = userRepository.save(new User(0, "author " + i, RandomUtils.getRandomEmail()));
+            commentRepository.save(new Comment(null, item, author, "first " + i, LocalDateTime.now()));
+            commentRepository.save(new Comment(null, item, author, "second " + i, LocalDateTime.now()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Comment> comments = commentRepository.findAllByItemIdInOrderByCreatedDesc(List.of(item.getId()));
+
+        statistics.clear();
+        associationBatchLoader.load(comments, Comment::getAuthor);
+        associationBatchLoader.load(comments, Comment::getAuthor);
+        List<CommentDto> commentDtos = comments.stream()
+                .map(CommentMapper::mapToCommentDto)
+                .toList();
+
+        assertEquals(4, commentDtos.stream().map(CommentDto::getAuthorName).distinct().count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +12,7 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDtoAnswer;
 
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.AssociationBatchLoader;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -38,6 +40,7 @@ public class ItemRequestServiceTest {
     @Mock private ItemRequestRepository itemRequestRepositoryMock;
     @Mock private ItemRepository itemRepositoryMock;
     @Mock private UserRepository userRepositoryMock;
+    @Mock private EntityManager entityManagerMock;
 
     @Mock
     private ItemRequestMapper itemRequestMapper;
@@ -46,7 +49,8 @@ public class ItemRequestServiceTest {
 
     @BeforeEach
     void setUp() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepositoryMock, userRepositoryMock, itemRepositoryMock);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepositoryMock, userRepositoryMock, itemRepositoryMock,
+                new AssociationBatchLoader(entityManagerMock));
     }
 
     @Test
@@ -7,6 +7,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.RandomUtils;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearch;
+import ru.practicum.shareit.item.ItemSuggestIndex;
+import ru.practicum.shareit.item.ItemTermDictionary;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -25,6 +31,16 @@ public class UserServiceTest {
 
     @Mock private UserRepository userRepositoryMock;
 
+    @Mock private ItemRequestRepository itemRequestRepositoryMock;
+
+    @Mock private ItemRepository itemRepositoryMock;
+
+    @Mock private ItemSuggestIndex itemSuggestIndexMock;
+
+    @Mock private ItemTermDictionary itemTermDictionaryMock;
+
+    @Mock private ItemSearch itemSearchMock;
+
     @Mock
     private UserMapper userMapperMock;
 
@@ -32,7 +48,8 @@ public class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepositoryMock);
+        userService = new UserServiceImpl(userRepositoryMock, itemRequestRepositoryMock, itemRepositoryMock,
+                itemSuggestIndexMock, itemTermDictionaryMock, itemSearchMock);
     }
 
     @Test
@@ -130,11 +147,17 @@ public class UserServiceTest {
         User user = new User(id, name, email);
 
         when(userRepositoryMock.findById(id)).thenReturn(Optional.of(user));
+        List<Item> items = List.of(new Item(3L, user, "Drill", "Some description", true, null, null, null));
+        when(itemRepositoryMock.findAllByOwner(user)).thenReturn(items);
         doNothing().when(userRepositoryMock).delete(user);
 
         assertDoesNotThrow(() -> userService.deleteUserById(id));
 
         verify(userRepositoryMock).delete(user);
+        verify(itemRequestRepositoryMock).incrementVersionsAnsweredByOwner(id);
+        verify(itemSearchMock).removeItems(List.of(3L));
+        verify(itemSuggestIndexMock).onItemsDeleted(List.of(3L));
+        verify(itemTermDictionaryMock).onItemsDeleted(items);
         verify(userRepositoryMock).findById(id);
     }
 
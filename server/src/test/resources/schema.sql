@@ -1,7 +1,17 @@
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(320) NOT NULL UNIQUE
+    email VARCHAR(320) NOT NULL UNIQUE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
 CREATE TABLE IF NOT EXISTS items (
@@ -11,21 +21,35 @@ CREATE TABLE IF NOT EXISTS items (
     description VARCHAR(250),
     available BOOLEAN NOT NULL,
     request_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT items_to_users FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id) ON DELETE SET NULL
 );
 
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR bookings_seq PRIMARY KEY,
     item_id BIGINT NOT NULL,
     user_id BIGINT NOT NULL,
     state VARCHAR(50) NOT NULL,
     start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+    item_id BIGINT PRIMARY KEY,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    next_start_time TIMESTAMP WITHOUT TIME ZONE,
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    FOREIGN KEY (last_booking_id) REFERENCES bookings(id) ON DELETE SET NULL,
+    FOREIGN KEY (next_booking_id) REFERENCES bookings(id) ON DELETE SET NULL
+);
+
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     item_id BIGINT NOT NULL,
@@ -36,10 +60,19 @@ CREATE TABLE IF NOT EXISTS comments (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    user_id BIGINT NOT NULL,
-    description VARCHAR(500) NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (user_id, created DESC);
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (user_id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (user_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_state_start_idx ON bookings (user_id, state, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_state_start_idx ON bookings (item_id, state, start_time);
+CREATE INDEX IF NOT EXISTS bookings_booker_item_state_end_idx ON bookings (user_id, item_id, state, end_time);
+
+CREATE INDEX IF NOT EXISTS item_booking_summaries_next_start_idx ON item_booking_summaries (next_start_time);
+
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created DESC);
+CREATE INDEX IF NOT EXISTS comments_author_created_idx ON comments (user_id, created DESC);